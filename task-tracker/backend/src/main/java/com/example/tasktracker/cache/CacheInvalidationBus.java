@@ -0,0 +1,118 @@
+package com.example.tasktracker.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the per-user caches coherent across backend replicas.
+ * <p>
+ * A write evicts the local entry straight away, then broadcasts an
+ * {@link InvalidationMessage} once the surrounding transaction commits (or
+ * immediately when there is none). Every node evicts on receipt, so a read on
+ * another node after the commit always goes back to the database.
+ */
+public class CacheInvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final CacheManager cacheManager;
+    private final InvalidationTransport transport;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<InvalidationMessage>> remoteListeners = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(CacheManager cacheManager, InvalidationTransport transport) {
+        this.cacheManager = cacheManager;
+        this.transport = transport;
+        transport.subscribe(this::onMessage);
+    }
+
+    /**
+     * Invalidate a user's cached data on this node and, after commit, on all others.
+     */
+    public void invalidate(Long userId, InvalidationEntity entity) {
+        invalidate(userId, entity, null);
+    }
+
+    /**
+     * Invalidate one changed entity of a user's, so other nodes can evict just
+     * the entries for it.
+     */
+    public void invalidate(Long userId, InvalidationEntity entity, Long entityId) {
+        evictLocal(userId, entity);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(userId, entity, entityId);
+                }
+            });
+        } else {
+            publish(userId, entity, entityId);
+        }
+    }
+
+    /**
+     * Register a listener for invalidations published by other nodes, for
+     * caches this bus does not manage itself.
+     */
+    public void addRemoteListener(Consumer<InvalidationMessage> listener) {
+        remoteListeners.add(listener);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void publish(Long userId, InvalidationEntity entity, Long entityId) {
+        // Evict again so a concurrent read that repopulated the entry from
+        // pre-commit data does not survive the commit on this node either
+        evictLocal(userId, entity);
+        InvalidationMessage message = new InvalidationMessage(userId, entity, entityId, nodeId);
+        try {
+            transport.publish(message.encode());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish cache invalidation {}: {}", message, e.getMessage());
+        }
+    }
+
+    private void onMessage(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        logger.debug("Received cache invalidation {}", message);
+        evictLocal(message.userId(), message.entity());
+        for (Consumer<InvalidationMessage> listener : remoteListeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                logger.warn("Cache invalidation listener failed for {}: {}", message, e.getMessage());
+            }
+        }
+    }
+
+    private void evictLocal(Long userId, InvalidationEntity entity) {
+        for (String cacheName : entity.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.evict(userId);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.tasktracker.cache;
+
+/**
+ * Names of the per-user caches. Caches are keyed by user ID so a single
+ * invalidation message can evict all of a user's entries on every node.
+ */
+public final class CacheNames {
+
+    public static final String USER_TAGS = "userTags";
+    public static final String USER_PROFILES = "userProfiles";
+
+    /**
+     * Keyed by username rather than user ID, see CustomUserDetailsService
+     */
+    public static final String USER_DETAILS = "userDetails";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.tasktracker.cache;
+
+/**
+ * Kinds of per-user data that can be invalidated across nodes, with the Spring
+ * caches that hold them. Second-level cache regions are handled by listeners
+ * registered on the {@link CacheInvalidationBus}.
+ */
+public enum InvalidationEntity {
+    TAGS(CacheNames.USER_TAGS),
+    PROFILE(CacheNames.USER_PROFILES),
+    TASKS,
+    USER;
+
+    private final String[] cacheNames;
+
+    InvalidationEntity(String... cacheNames) {
+        this.cacheNames = cacheNames;
+    }
+
+    public String[] getCacheNames() {
+        return cacheNames;
+    }
+}
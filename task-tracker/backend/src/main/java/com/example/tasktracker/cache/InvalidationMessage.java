@@ -0,0 +1,37 @@
+package com.example.tasktracker.cache;
+
+/**
+ * Compact cache invalidation message, encoded on the wire as
+ * {@code userId|entity|entityId|origin}, with an empty entity ID when all of
+ * the user's data of that kind changed.
+ * <p>
+ * Deliberately without a version to drop duplicate or out-of-order deliveries
+ * by: a message only evicts, so applying it twice or late costs one cache miss,
+ * while wrongly dropping it would leave a stale entry behind.
+ *
+ * @param userId   owner of the invalidated data
+ * @param entity   kind of data that changed
+ * @param entityId ID of the one entity that changed, or null
+ * @param origin   ID of the publishing node, used to skip our own echoes
+ */
+public record InvalidationMessage(long userId, InvalidationEntity entity, Long entityId, String origin) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        return String.valueOf(userId) + SEPARATOR + entity.name() + SEPARATOR
+                + (entityId != null ? entityId.toString() : "") + SEPARATOR + origin;
+    }
+
+    public static InvalidationMessage decode(String payload) {
+        String[] parts = payload.split("\\|", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+        }
+        return new InvalidationMessage(
+                Long.parseLong(parts[0]),
+                InvalidationEntity.valueOf(parts[1]),
+                parts[2].isEmpty() ? null : Long.valueOf(parts[2]),
+                parts[3]);
+    }
+}
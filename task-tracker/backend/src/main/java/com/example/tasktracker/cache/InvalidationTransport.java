@@ -0,0 +1,21 @@
+package com.example.tasktracker.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcast channel used by {@link CacheInvalidationBus} to reach the other
+ * backend replicas. Implementations deliver every published payload to every
+ * subscriber, including the publishing node itself.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Broadcast an encoded {@link InvalidationMessage}.
+     */
+    void publish(String payload);
+
+    /**
+     * Register a listener for payloads published by any node.
+     */
+    void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,26 @@
+package com.example.tasktracker.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM transport for single-node deployments and tests. Sharing one instance
+ * between several buses simulates several nodes on the same channel.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String payload) {
+        for (Consumer<String> listener : listeners) {
+            listener.accept(payload);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.tasktracker.cache;
+
+import com.example.tasktracker.entity.Profile;
+import com.example.tasktracker.entity.Tag;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts Hibernate second-level cache entries when another node reports a
+ * write. Hibernate keeps the local regions up to date itself, but it knows
+ * nothing about writes made by other replicas.
+ * <p>
+ * Regions are keyed by entity ID. Task messages name the changed task, so
+ * only its tag set is evicted. For tags and profiles the user's IDs are looked
+ * up and only their entries are evicted; the message arrives after the
+ * commit, so the lookup sees the write. Cached queries cannot be evicted per
+ * user: a write marks the queried table as changed instead, as a local write
+ * would, which only drops results read from that table.
+ */
+@Component
+public class SecondLevelCacheInvalidator {
+
+    private static final String TASK_TAGS_ROLE = Task.class.getName() + ".tags";
+
+    // Deleted rows included: their cached entries can be just as stale
+    private static final String SELECT_TAG_IDS_SQL = "select id from tags where user_id = ?";
+    private static final String SELECT_PROFILE_IDS_SQL = "select id from profiles where user_id = ?";
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final CacheImplementor cache;
+    private final JdbcTemplate jdbcTemplate;
+
+    public SecondLevelCacheInvalidator(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate,
+                                       CacheInvalidationBus cacheInvalidationBus) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.cache = sessionFactory.getCache();
+        this.jdbcTemplate = jdbcTemplate;
+        cacheInvalidationBus.addRemoteListener(this::onRemoteInvalidation);
+    }
+
+    void onRemoteInvalidation(InvalidationMessage message) {
+        long userId = message.userId();
+        switch (message.entity()) {
+            case TAGS -> {
+                // Task-tag links do not change with the tag itself; deleted tags are filtered on read
+                for (Long tagId : jdbcTemplate.queryForList(SELECT_TAG_IDS_SQL, Long.class, userId)) {
+                    cache.evictEntityData(Tag.class, tagId);
+                }
+                invalidateQueries("tags");
+            }
+            case PROFILE -> {
+                for (Long profileId : jdbcTemplate.queryForList(SELECT_PROFILE_IDS_SQL, Long.class, userId)) {
+                    cache.evictEntityData(Profile.class, profileId);
+                }
+                invalidateQueries("profiles");
+            }
+            case TASKS -> {
+                if (message.entityId() != null) {
+                    cache.evictCollectionData(TASK_TAGS_ROLE, taskTagsKey(message.entityId(), userId));
+                } else {
+                    // No single task named: all tag sets, rather than one lookup per task
+                    cache.evictCollectionData(TASK_TAGS_ROLE);
+                }
+            }
+            // Password and account flag changes: the cached username lookup still holds
+            case USER -> cache.evictEntityData(User.class, userId);
+        }
+    }
+
+    /**
+     * Key of a task's tag set. The join is on the task's id and user_id, so
+     * Hibernate reads both off an owner-shaped Task rather than taking the id.
+     */
+    static Task taskTagsKey(long taskId, long userId) {
+        User owner = new User();
+        owner.setId(userId);
+        Task key = new Task();
+        key.setId(taskId);
+        key.setUser(owner);
+        return key;
+    }
+
+    private void invalidateQueries(String table) {
+        try (Session session = sessionFactory.openSession()) {
+            cache.getTimestampsCache().invalidate(new String[]{table}, (SharedSessionContractImplementor) session);
+        }
+    }
+}
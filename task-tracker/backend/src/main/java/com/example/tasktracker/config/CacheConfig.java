@@ -0,0 +1,61 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.cache.CacheInvalidationBus;
+import com.example.tasktracker.cache.InvalidationTransport;
+import com.example.tasktracker.cache.LoopbackInvalidationTransport;
+import com.example.tasktracker.cache.RedisInvalidationTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Redis pub/sub transport for multi-node deployments (prod/docker profiles)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "redis")
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("cache-invalidation-");
+        // Listeners only evict local caches, so they follow the app-wide thread model
+        executor.setVirtualThreads(virtualThreads);
+        container.setTaskExecutor(executor);
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "redis")
+    public InvalidationTransport redisInvalidationTransport(
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer cacheInvalidationListenerContainer,
+            @Value("${app.cache.invalidation.channel:tasktracker:cache-invalidation}") String channel) {
+        return new RedisInvalidationTransport(redisTemplate, cacheInvalidationListenerContainer, channel);
+    }
+
+    /**
+     * In-JVM fallback for single-node runs (dev/test profiles)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+    public InvalidationTransport loopbackInvalidationTransport() {
+        return new LoopbackInvalidationTransport();
+    }
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(CacheManager cacheManager, InvalidationTransport transport) {
+        return new CacheInvalidationBus(cacheManager, transport);
+    }
+}
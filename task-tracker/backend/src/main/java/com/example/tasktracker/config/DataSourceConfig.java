@@ -0,0 +1,112 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.datasource.ReadYourWritesTracker;
+import com.example.tasktracker.datasource.ReplicaLagMonitor;
+import com.example.tasktracker.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary plus read replicas (app.datasource.replicas.*). Without it Spring
+ * Boot's single pooled data source is used as before.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class DataSourceConfig {
+
+    /**
+     * The spring.datasource.* pool, now only one of the routing targets
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker,
+            @Value("${app.datasource.replicas.services}") List<String> routedServices) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicaLagMonitor.getReplicas(),
+                replicaLagMonitor, readYourWritesTracker, routedServices);
+    }
+
+    /**
+     * What JPA, JdbcTemplate and the transaction manager see. The connection is
+     * fetched at the first statement, once the transaction's read-only flag is set.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replicas.urls}") List<String> urls,
+            @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replicas.pool-size:20}") int poolSize,
+            @Value("${app.datasource.replicas.max-lag:1s}") Duration maxLag,
+            @Value("${app.datasource.replicas.lag-query:}") String lagQuery) {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.urls must list at least one replica");
+        }
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(ReplicaRoutingDataSource.replicaKey(i));
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicas,
+                lagQuery.isBlank() ? ReplicaLagMonitor.POSTGRES_LAG_QUERY : lagQuery, maxLag.toMillis());
+        // Start with measured lag rather than waiting for the first scheduled probe
+        monitor.probe();
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = i;
+            Gauge.builder("db.replica.lag", monitor, m -> m.getLagMillis(replica))
+                    .tag("replica", ReplicaRoutingDataSource.replicaKey(i))
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+        return monitor;
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${app.datasource.replicas.read-your-writes-window:5s}") Duration window,
+            @Value("${app.datasource.replicas.max-lag:1s}") Duration maxLag) {
+        // A shorter window could send a user's read to a replica that has not seen their write yet
+        if (window.compareTo(maxLag) < 0) {
+            throw new IllegalStateException("app.datasource.replicas.read-your-writes-window must not be shorter than max-lag");
+        }
+        return new ReadYourWritesTracker(window.toNanos());
+    }
+}
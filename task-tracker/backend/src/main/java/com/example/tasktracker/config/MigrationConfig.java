@@ -0,0 +1,20 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.db.R__task_partitioning;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway migrations that depend on application settings. Spring Boot hands
+ * these beans to Flyway next to the scripts found in db/migration.
+ */
+@Configuration
+public class MigrationConfig {
+
+    @Bean
+    public R__task_partitioning taskPartitioningMigration(
+            @Value("${app.tasks.partitioning.partitions:0}") int partitions) {
+        return new R__task_partitioning(partitions);
+    }
+}
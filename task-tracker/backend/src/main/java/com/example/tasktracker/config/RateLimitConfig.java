@@ -0,0 +1,144 @@
+package com.example.tasktracker.config;
+
+import com.example.tasktracker.filter.ApiRateLimitFilter;
+import com.example.tasktracker.filter.ConcurrencyLimitFilter;
+import com.example.tasktracker.filter.LoginThrottleFilter;
+import com.example.tasktracker.ratelimit.AdaptiveConcurrencyLimiter;
+import com.example.tasktracker.ratelimit.ApiRoute;
+import com.example.tasktracker.ratelimit.LocalLoginAttemptStore;
+import com.example.tasktracker.ratelimit.LoginAttemptStore;
+import com.example.tasktracker.ratelimit.LoginThrottle;
+import com.example.tasktracker.ratelimit.RedisLoginAttemptStore;
+import com.example.tasktracker.ratelimit.StripedTokenBucket;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${app.security.login-throttle.window:15m}")
+    private Duration loginWindow;
+
+    @Value("${app.security.login-throttle.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${app.security.login-throttle.sketch-width:65536}")
+    private int sketchWidth;
+
+    /**
+     * AIMD limit on concurrent /api requests, sized from app.concurrency.*
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter apiConcurrencyLimiter(
+            @Value("${app.concurrency.initial-limit:20}") int initialLimit,
+            @Value("${app.concurrency.min-limit:5}") int minLimit,
+            @Value("${app.concurrency.max-limit:150}") int maxLimit,
+            @Value("${app.concurrency.reserved-for-admin:2}") int reserved,
+            @Value("${app.concurrency.target-latency:250ms}") Duration targetLatency,
+            @Value("${app.concurrency.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, reserved,
+                targetLatency.toNanos(), backoffRatio);
+    }
+
+    /**
+     * Behind the security filter chain, which establishes who may use the admin
+     * reserve, and behind the rate limit, so requests it rejects never take a
+     * slot. A shed request still costs the session lookup, but no body parsing
+     * or database work.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter apiConcurrencyLimiter,
+            MeterRegistry meterRegistry,
+            ObjectMapper objectMapper) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(apiConcurrencyLimiter, meterRegistry, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+
+    /**
+     * Failures counted in Redis, shared by all replicas (prod/docker profiles)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.security.login-throttle.store", havingValue = "redis")
+    public LoginAttemptStore redisLoginAttemptStore(
+            StringRedisTemplate redisTemplate,
+            @Value("${app.security.login-throttle.key-prefix:tasktracker:login-failures:}") String keyPrefix,
+            @Value("${app.security.login-throttle.seed:}") String seed) {
+        long hashSeed = seed.isBlank()
+                ? RedisLoginAttemptStore.sharedSeed(redisTemplate, keyPrefix + "seed")
+                : Long.parseLong(seed);
+        return new RedisLoginAttemptStore(redisTemplate, keyPrefix, sketchDepth, sketchWidth, loginWindow.toMillis(),
+                hashSeed);
+    }
+
+    /**
+     * Per-node counting for single-node runs (dev/test profiles)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.security.login-throttle.store", havingValue = "local", matchIfMissing = true)
+    public LoginAttemptStore localLoginAttemptStore() {
+        return new LocalLoginAttemptStore(sketchDepth, sketchWidth, loginWindow.toMillis());
+    }
+
+    @Bean
+    public LoginThrottle loginThrottle(
+            LoginAttemptStore loginAttemptStore,
+            MeterRegistry meterRegistry,
+            @Value("${app.security.login-throttle.max-failures-per-username:10}") int maxFailuresPerUsername,
+            @Value("${app.security.login-throttle.max-failures-per-ip:100}") int maxFailuresPerIp) {
+        return new LoginThrottle(loginAttemptStore, maxFailuresPerUsername, maxFailuresPerIp, meterRegistry);
+    }
+
+    /**
+     * Runs ahead of the security filter chain, so throttled attempts cost no session or hashing work
+     */
+    @Bean
+    public FilterRegistrationBean<LoginThrottleFilter> loginThrottleFilter(LoginThrottle loginThrottle,
+                                                                           ObjectMapper objectMapper) {
+        FilterRegistrationBean<LoginThrottleFilter> registration =
+                new FilterRegistrationBean<>(new LoginThrottleFilter(loginThrottle, objectMapper));
+        registration.addUrlPatterns("/api/auth/login");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    /**
+     * Per-user API budgets, read from app.ratelimit.api.{read,write,search}.*
+     */
+    @Bean
+    public FilterRegistrationBean<ApiRateLimitFilter> apiRateLimitFilter(Environment environment,
+                                                                         MeterRegistry meterRegistry,
+                                                                         ObjectMapper objectMapper) {
+        int slots = environment.getProperty("app.ratelimit.api.slots", Integer.class, 262144);
+        Map<ApiRoute, StripedTokenBucket> buckets = new EnumMap<>(ApiRoute.class);
+        for (ApiRoute route : ApiRoute.values()) {
+            String prefix = "app.ratelimit.api." + route.name().toLowerCase(Locale.ROOT);
+            buckets.put(route, new StripedTokenBucket(slots,
+                    environment.getRequiredProperty(prefix + ".tokens-per-second", Double.class),
+                    environment.getRequiredProperty(prefix + ".burst", Integer.class)));
+        }
+
+        FilterRegistrationBean<ApiRateLimitFilter> registration =
+                new FilterRegistrationBean<>(new ApiRateLimitFilter(buckets, meterRegistry, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        // Just behind the security filter chain, so the authenticated user is known
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
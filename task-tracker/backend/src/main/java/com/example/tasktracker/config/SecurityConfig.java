@@ -1,6 +1,9 @@
 package com.example.tasktracker.config;
 
 import com.example.tasktracker.service.CustomUserDetailsService;
+import com.example.tasktracker.service.PasswordHashingService;
+import com.example.tasktracker.service.PooledPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,17 +14,28 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.session.security.web.authentication.SpringSessionRememberMeServices;
 import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.core.session.SessionRegistryImpl;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true, securedEnabled = true)
 public class SecurityConfig {
 
+    @Value("${app.security.password.encoder:bcrypt}")
+    private String passwordEncoderId;
+
+    @Value("${app.security.password.bcrypt-strength:12}")
+    private int bcryptStrength;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -32,7 +46,7 @@ public class SecurityConfig {
                 .requestMatchers("/h2-console/**").permitAll() // Только для dev профиля
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/user/**").hasAnyRole("USER", "ADMIN")
-                .requestMatchers("/api/auth/me", "/api/tasks/**", "/api/tags/**", "/api/profile/**").authenticated()  // Require authentication for protected endpoints
+                .requestMatchers("/api/auth/me", "/api/bootstrap", "/api/tasks/**", "/api/tags/**", "/api/profile/**").authenticated()  // Require authentication for protected endpoints
                 .anyRequest().authenticated()
             )
             
@@ -94,8 +108,17 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(PasswordHashingService passwordHashingService) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        // New hashes are written as {id}hash; stored hashes without a prefix are plain BCrypt
+        DelegatingPasswordEncoder delegatingEncoder = new DelegatingPasswordEncoder(passwordEncoderId, encoders);
+        delegatingEncoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder(bcryptStrength));
+
+        // Hashing work runs on the bounded hashing pool, not on the request thread
+        return new PooledPasswordEncoder(delegatingEncoder, passwordHashingService);
     }
 
     @Bean
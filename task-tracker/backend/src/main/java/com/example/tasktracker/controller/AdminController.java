@@ -2,6 +2,7 @@ package com.example.tasktracker.controller;
 
 import com.example.tasktracker.entity.User;
 import com.example.tasktracker.repository.UserRepository;
+import com.example.tasktracker.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +17,9 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
     @GetMapping("/users")
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -25,6 +29,9 @@ public class AdminController {
     public User toggleUserEnabled(@PathVariable Long id) {
         User user = userRepository.findById(id).orElseThrow(() -> new RuntimeException("User not found"));
         user.setEnabled(!user.isEnabled());
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        // Lock out (or let back in) immediately instead of after the cache TTL
+        customUserDetailsService.evictUser(savedUser);
+        return savedUser;
     }
 }
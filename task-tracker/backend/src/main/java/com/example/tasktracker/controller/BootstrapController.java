@@ -0,0 +1,60 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.dto.BootstrapResponse;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.UserRepository;
+import com.example.tasktracker.service.BootstrapService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/bootstrap")
+public class BootstrapController {
+
+    private static final int MAX_TASK_PAGE_SIZE = 200;
+
+    @Autowired
+    private BootstrapService bootstrapService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Get current user ID from security context
+     */
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetails) {
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            String username = userDetails.getUsername();
+            User user = userRepository.findByUsername(username).orElse(null);
+            if (user != null) {
+                return user.getId();
+            }
+        }
+        throw new RuntimeException("Unable to get current user ID");
+    }
+
+    /**
+     * Get the current user's profile, tags, first page of tasks and status
+     * counts in one round trip, for the SPA's initial load
+     */
+    @GetMapping
+    public BootstrapResponse getBootstrap(@RequestParam(defaultValue = "50") int size) {
+        Long userId = getCurrentUserId();
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String role = authentication.getAuthorities().stream()
+                .findFirst()
+                .map(a -> a.getAuthority().replace("ROLE_", ""))
+                .orElse("USER");
+
+        int pageSize = Math.max(1, Math.min(size, MAX_TASK_PAGE_SIZE));
+        return bootstrapService.getBootstrap(userId, authentication.getName(), role, pageSize);
+    }
+}
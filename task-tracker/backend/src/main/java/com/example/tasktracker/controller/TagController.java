@@ -90,6 +90,15 @@ public class TagController {
         tagService.deleteTag(id, userId);
     }
 
+    /**
+     * Undo the deletion of a tag within the undo window
+     */
+    @PostMapping("/{id}/restore")
+    public TagResponse restoreTag(@PathVariable Long id) {
+        Long userId = getCurrentUserId();
+        return tagService.restoreTag(id, userId);
+    }
+
     /**
      * Search tags by name
      */
@@ -1,20 +1,36 @@
 package com.example.tasktracker.controller;
 
+import com.example.tasktracker.dto.NormalizedTaskListResponse;
+import com.example.tasktracker.dto.TaskField;
+import com.example.tasktracker.dto.TaskMoveRequest;
 import com.example.tasktracker.dto.TaskRequest;
 import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.dto.TaskTombstone;
+import com.example.tasktracker.entity.TaskStatus;
 import com.example.tasktracker.entity.User;
 import com.example.tasktracker.service.TaskService;
+import com.example.tasktracker.service.TaskStreamingService;
 import com.example.tasktracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -23,6 +39,9 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskStreamingService taskStreamingService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -43,12 +62,56 @@ public class TaskController {
     }
 
     /**
-     * Get all tasks for the current user
+     * Serialize only the selected fields of each task
+     */
+    private MappingJacksonValue withFields(List<TaskResponse> tasks, Set<TaskField> fields) {
+        MappingJacksonValue value = new MappingJacksonValue(tasks);
+        value.setFilters(new SimpleFilterProvider().addFilter(TaskResponse.FIELD_FILTER,
+                SimpleBeanPropertyFilter.filterOutAllExcept(TaskField.names(fields))));
+        return value;
+    }
+
+    /**
+     * Get all tasks for the current user, optionally only the given comma-separated fields
+     * and optionally with archived tasks
      */
     @GetMapping
-    public List<TaskResponse> getAllTasks() {
+    public MappingJacksonValue getAllTasks(@RequestParam(value = "fields", required = false) String fields,
+                                           @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
         Long userId = getCurrentUserId();
-        return taskService.getAllTasks(userId);
+        if (fields == null) {
+            return new MappingJacksonValue(taskService.getAllTasks(userId, includeArchived));
+        }
+        Set<TaskField> selected = TaskField.parse(fields);
+        return withFields(taskService.getAllTasks(userId, selected, includeArchived), selected);
+    }
+
+    /**
+     * Get all tasks for the current user, with tags sent once instead of per task
+     */
+    @GetMapping(params = "shape=normalized")
+    public NormalizedTaskListResponse getAllTasksNormalized(@RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+        Long userId = getCurrentUserId();
+        return taskService.getAllTasksNormalized(userId, includeArchived);
+    }
+
+    /**
+     * Stream all tasks of the current user as JSON without building the list in memory
+     */
+    @GetMapping("/stream")
+    public void streamTasks(HttpServletResponse response) throws IOException {
+        Long userId = getCurrentUserId();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        taskStreamingService.streamTasks(userId, response.getOutputStream());
+    }
+
+    /**
+     * Get the current user's tasks as a board: one column per status, in board order
+     */
+    @GetMapping("/board")
+    public Map<TaskStatus, List<TaskResponse>> getBoard() {
+        Long userId = getCurrentUserId();
+        return taskService.getBoard(userId);
     }
 
     /**
@@ -79,6 +142,15 @@ public class TaskController {
         return taskService.updateTask(id, taskRequest, userId);
     }
 
+    /**
+     * Move a task of the current user to a place in a board column
+     */
+    @PutMapping("/{id}/position")
+    public TaskResponse moveTask(@PathVariable Long id, @Valid @RequestBody TaskMoveRequest moveRequest) {
+        Long userId = getCurrentUserId();
+        return taskService.moveTask(id, moveRequest, userId);
+    }
+
     /**
      * Delete a task by ID for the current user
      */
@@ -90,12 +162,48 @@ public class TaskController {
     }
 
     /**
-     * Search tasks by title or description
+     * Undo the deletion of a task of the current user within the undo window
+     */
+    @PostMapping("/{id}/restore")
+    public TaskResponse restoreTask(@PathVariable Long id) {
+        Long userId = getCurrentUserId();
+        return taskService.restoreTask(id, userId);
+    }
+
+    /**
+     * Ids of the current user's tasks deleted after the given time, for clients syncing deletions
+     */
+    @GetMapping("/deleted")
+    public List<TaskTombstone> getDeletedTasks(
+            @RequestParam("since") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        Long userId = getCurrentUserId();
+        return taskService.getDeletedTasks(userId, since);
+    }
+
+    /**
+     * Search tasks by title or description, optionally only the given comma-separated fields
+     * and optionally with archived tasks
      */
     @GetMapping("/search")
-    public List<TaskResponse> searchTasks(@RequestParam("q") String query) {
+    public MappingJacksonValue searchTasks(@RequestParam("q") String query,
+                                           @RequestParam(value = "fields", required = false) String fields,
+                                           @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
         Long userId = getCurrentUserId();
-        return taskService.searchTasks(query, userId);
+        if (fields == null) {
+            return new MappingJacksonValue(taskService.searchTasks(query, userId, includeArchived));
+        }
+        Set<TaskField> selected = TaskField.parse(fields);
+        return withFields(taskService.searchTasks(query, userId, selected, includeArchived), selected);
+    }
+
+    /**
+     * Search tasks by title or description, with tags sent once instead of per task
+     */
+    @GetMapping(value = "/search", params = "shape=normalized")
+    public NormalizedTaskListResponse searchTasksNormalized(@RequestParam("q") String query,
+                                                            @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+        Long userId = getCurrentUserId();
+        return taskService.searchTasksNormalized(query, userId, includeArchived);
     }
 
     /**
@@ -103,7 +211,23 @@ public class TaskController {
      */
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<TaskResponse> getTasksByUserId(@PathVariable Long userId) {
-        return taskService.getAllTasks(userId);
+    public MappingJacksonValue getTasksByUserId(@PathVariable Long userId,
+                                                @RequestParam(value = "fields", required = false) String fields,
+                                                @RequestParam(value = "includeArchived", defaultValue = "false") boolean includeArchived) {
+        if (fields == null) {
+            return new MappingJacksonValue(taskService.getAllTasks(userId, includeArchived));
+        }
+        Set<TaskField> selected = TaskField.parse(fields);
+        return withFields(taskService.getAllTasks(userId, selected, includeArchived), selected);
+    }
+
+    /**
+     * Stream all tasks of a specific user as JSON (Admin only)
+     */
+    @GetMapping("/user/{userId}/stream")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void streamTasksByUserId(@PathVariable Long userId, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        taskStreamingService.streamTasks(userId, response.getOutputStream());
     }
 }
\ No newline at end of file
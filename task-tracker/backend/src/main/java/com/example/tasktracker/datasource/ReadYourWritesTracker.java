@@ -0,0 +1,62 @@
+package com.example.tasktracker.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers which users committed a write recently, so their reads stay on
+ * the primary until the replicas have had time to catch up.
+ * <p>
+ * Per node: a user whose requests are spread over several backend replicas
+ * is only sticky on the node that served the write.
+ */
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> lastWrite = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final LongSupplier clock;
+
+    public ReadYourWritesTracker(long windowNanos) {
+        this(windowNanos, System::nanoTime);
+    }
+
+    ReadYourWritesTracker(long windowNanos, LongSupplier clock) {
+        this.windowNanos = windowNanos;
+        this.clock = clock;
+    }
+
+    public void recordWrite(String username) {
+        lastWrite.put(username, clock.getAsLong());
+    }
+
+    /**
+     * Whether the user wrote within the window; expired entries are dropped on the way
+     */
+    public boolean isSticky(String username) {
+        Long writtenAt = lastWrite.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (clock.getAsLong() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWrite.remove(username, writtenAt);
+        return false;
+    }
+
+    /**
+     * Drop all expired entries, for users who never read again
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.read-your-writes-window:5s}")
+    public void prune() {
+        long now = clock.getAsLong();
+        lastWrite.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+    }
+
+    int size() {
+        return lastWrite.size();
+    }
+}
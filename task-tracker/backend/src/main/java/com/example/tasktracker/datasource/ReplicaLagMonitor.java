@@ -0,0 +1,83 @@
+package com.example.tasktracker.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks how far each replica is behind the primary. A replica is only used
+ * while its last measured lag is within the tolerance; one that has not been
+ * probed yet or whose probe failed counts as infinitely behind.
+ */
+public class ReplicaLagMonitor {
+
+    /**
+     * Seconds of replay lag on a PostgreSQL standby. Zero once everything received
+     * is replayed, so an idle primary does not make its replicas look stale.
+     */
+    public static final String POSTGRES_LAG_QUERY = "select case "
+            + "when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 "
+            + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) end";
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final List<DataSource> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final AtomicLongArray lagMillis;
+
+    public ReplicaLagMonitor(List<DataSource> replicas, String lagQuery, long maxLagMillis) {
+        this.replicas = List.copyOf(replicas);
+        this.lagQuery = lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.lagMillis = new AtomicLongArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            lagMillis.set(i, Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Measure every replica once
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:1s}")
+    public void probe() {
+        for (int i = 0; i < replicas.size(); i++) {
+            lagMillis.set(i, measure(i));
+        }
+    }
+
+    public boolean isUsable(int replica) {
+        return lagMillis.get(replica) <= maxLagMillis;
+    }
+
+    public long getLagMillis(int replica) {
+        return lagMillis.get(replica);
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    private long measure(int replica) {
+        try (Connection connection = replicas.get(replica).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                return Long.MAX_VALUE;
+            }
+            double seconds = resultSet.getDouble(1);
+            return resultSet.wasNull() ? 0 : Math.round(seconds * 1000);
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Replica {} lag probe failed, routing its reads to the primary: {}", replica, e.getMessage());
+            return Long.MAX_VALUE;
+        }
+    }
+}
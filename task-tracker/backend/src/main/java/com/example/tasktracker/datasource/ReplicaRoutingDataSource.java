@@ -0,0 +1,131 @@
+package com.example.tasktracker.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions begun by selected services to a replica and
+ * everything else to the primary.
+ * <p>
+ * A read goes to the primary instead when the current user committed a write
+ * within the read-your-writes window, or when no replica is within the lag
+ * tolerance. Replicas are tried round-robin.
+ * <p>
+ * The transaction's read-only flag is only known once it has begun, so this
+ * must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * which defers fetching the connection to the first statement.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final List<DataSource> replicas;
+    private final int replicaCount;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesTracker writeTracker;
+    private final List<String> routedServices;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * @param routedServices fully qualified class names whose read-only transactions may use a replica
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaLagMonitor lagMonitor,
+                                    ReadYourWritesTracker writeTracker, List<String> routedServices) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(replicaKey(i), replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.replicas = List.copyOf(replicas);
+        this.replicaCount = replicas.size();
+        this.lagMonitor = lagMonitor;
+        this.writeTracker = writeTracker;
+        this.routedServices = List.copyOf(routedServices);
+    }
+
+    public static String replicaKey(int replica) {
+        return "replica-" + replica;
+    }
+
+    /**
+     * Close the replica pools; the primary is managed on its own
+     */
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriteOnCommit(username);
+            return PRIMARY;
+        }
+        if (!isRouted(TransactionSynchronizationManager.getCurrentTransactionName())
+                || (username != null && writeTracker.isSticky(username))) {
+            return PRIMARY;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicaCount);
+        for (int i = 0; i < replicaCount; i++) {
+            int replica = (start + i) % replicaCount;
+            if (lagMonitor.isUsable(replica)) {
+                return replicaKey(replica);
+            }
+        }
+        return PRIMARY;
+    }
+
+    private void rememberWriteOnCommit(String username) {
+        if (username == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                writeTracker.recordWrite(username);
+            }
+        });
+    }
+
+    /**
+     * Transaction names are "declaring class.method" for @Transactional methods
+     */
+    private boolean isRouted(String transactionName) {
+        if (transactionName == null) {
+            return false;
+        }
+        int lastDot = transactionName.lastIndexOf('.');
+        return lastDot > 0 && routedServices.contains(transactionName.substring(0, lastDot));
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.tasktracker.db;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns tasks and task_tags into PostgreSQL tables hash-partitioned by
+ * user_id, with the configured number of partitions. Zero partitions keeps
+ * the plain tables.
+ * <p>
+ * Repeatable, with the partition count as its checksum, so Flyway runs it
+ * again whenever the setting changes. It converts plain tables once; changing
+ * the count of tables that are already partitioned is refused, as that means
+ * rewriting every row and is better done by hand.
+ * <p>
+ * The conversion copies both tables in the migration's transaction. The
+ * primary keys become (id, user_id) and (user_id, task_id, tag_id), since a
+ * partitioned table's unique keys must contain the partition key, and links
+ * reference their task through (task_id, user_id). Other indexes are created
+ * again as they were.
+ */
+public class R__task_partitioning extends BaseJavaMigration {
+
+    private static final List<String> TABLES = List.of("tasks", "task_tags");
+
+    private final int partitions;
+
+    public R__task_partitioning(int partitions) {
+        if (partitions < 0) {
+            throw new IllegalArgumentException("Partition count must not be negative");
+        }
+        this.partitions = partitions;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return partitions;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        int current = postgres ? partitionCount(connection) : 0;
+        if (current == partitions) {
+            return;
+        }
+        if (!postgres) {
+            throw new FlywayException("Partitioning tasks requires PostgreSQL");
+        }
+        if (current > 0) {
+            throw new FlywayException("tasks is already split into " + current + " partitions; "
+                    + "changing that to " + partitions + " needs a manual repartition");
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            List<String> indexes = new ArrayList<>();
+            for (String table : TABLES) {
+                indexes.addAll(secondaryIndexes(connection, table));
+                statement.execute("create table " + table + "_partitioned (like " + table
+                        + " including defaults including constraints including storage) partition by hash (user_id)");
+                for (int i = 0; i < partitions; i++) {
+                    statement.execute("create table " + table + "_p" + i + " partition of " + table
+                            + "_partitioned for values with (modulus " + partitions + ", remainder " + i + ")");
+                }
+                statement.execute("insert into " + table + "_partitioned select * from " + table);
+            }
+
+            // Links first: they reference tasks
+            statement.execute("drop table task_tags");
+            statement.execute("drop table tasks");
+            for (String table : TABLES) {
+                statement.execute("alter table " + table + "_partitioned rename to " + table);
+            }
+
+            statement.execute("alter table tasks add primary key (id, user_id)");
+            statement.execute("alter table tasks add foreign key (user_id) references users");
+            statement.execute("alter table task_tags add primary key (user_id, task_id, tag_id)");
+            statement.execute("alter table task_tags add foreign key (task_id, user_id) references tasks (id, user_id)");
+            statement.execute("alter table task_tags add foreign key (tag_id) references tags");
+            for (String index : indexes) {
+                statement.execute(index);
+            }
+        }
+    }
+
+    private static int partitionCount(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from pg_inherits i "
+                     + "join pg_partitioned_table p on p.partrelid = i.inhparent "
+                     + "where i.inhparent = to_regclass('tasks')")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * Definitions of the table's indexes other than those behind its primary key and unique constraints
+     */
+    private static List<String> secondaryIndexes(Connection connection, String table) throws SQLException {
+        List<String> definitions = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("select indexdef from pg_indexes "
+                + "where schemaname = current_schema() and tablename = ? and indexname not in "
+                + "(select conname from pg_constraint where conrelid = to_regclass(?) and contype in ('p', 'u'))")) {
+            statement.setString(1, table);
+            statement.setString(2, table);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    definitions.add(resultSet.getString(1));
+                }
+            }
+        }
+        return definitions;
+    }
+}
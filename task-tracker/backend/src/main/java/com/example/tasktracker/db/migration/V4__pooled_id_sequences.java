@@ -0,0 +1,56 @@
+package com.example.tasktracker.db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Replaces the identity columns with one sequence per table, which the
+ * entities draw from in blocks (pooled-lo). Each sequence starts above the
+ * table's current highest id. Written in Java because that start value has
+ * to be read first.
+ * <p>
+ * Instances still inserting through the identity column fail once it is
+ * dropped, so stop the old version before this runs.
+ */
+public class V4__pooled_id_sequences extends BaseJavaMigration {
+
+    /**
+     * Must match allocationSize on the entities' @SequenceGenerator
+     */
+    static final int ALLOCATION_SIZE = 50;
+
+    private static final List<String> TABLES = List.of("users", "profiles", "tags", "tasks");
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                long start = nextId(statement, table);
+                statement.execute("create sequence " + table + "_seq start with " + start
+                        + " increment by " + ALLOCATION_SIZE);
+                if (postgres) {
+                    // Identity on new databases; serial default on ones older Hibernate versions created
+                    statement.execute("alter table " + table + " alter column id drop identity if exists");
+                    statement.execute("alter table " + table + " alter column id drop default");
+                } else {
+                    statement.execute("alter table " + table + " alter column id drop identity");
+                }
+            }
+        }
+    }
+
+    private static long nextId(Statement statement, String table) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("select coalesce(max(id), 0) + 1 from " + table)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.tasktracker.dto;
+
+import com.example.tasktracker.entity.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the SPA needs right after login, in one response
+ */
+@Data
+@NoArgsConstructor
+public class BootstrapResponse {
+    private String username;
+    private String role;
+    private ProfileResponse profile;
+    private List<TagResponse> tags = new ArrayList<>();
+
+    // First page of tasks; totalTasks tells the client whether more exist
+    private List<TaskResponse> tasks = new ArrayList<>();
+    private long totalTasks;
+
+    private Map<TaskStatus, Long> statusCounts;
+}
@@ -0,0 +1,21 @@
+package com.example.tasktracker.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task list with every referenced tag sent once, keyed by id
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NormalizedTaskListResponse {
+    private Map<Long, TagResponse> tags = new LinkedHashMap<>();
+    private List<NormalizedTaskResponse> tasks = new ArrayList<>();
+}
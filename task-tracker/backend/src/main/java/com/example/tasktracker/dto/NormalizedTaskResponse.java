@@ -0,0 +1,26 @@
+package com.example.tasktracker.dto;
+
+import com.example.tasktracker.entity.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Task entry of a normalized list: tags are referenced by id
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NormalizedTaskResponse {
+    private Long id;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<Long> tagIds = new ArrayList<>();
+}
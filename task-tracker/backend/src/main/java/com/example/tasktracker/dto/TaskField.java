@@ -0,0 +1,72 @@
+package com.example.tasktracker.dto;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Task response fields a client can select with the fields= parameter
+ */
+public enum TaskField {
+    ID("id", true),
+    TITLE("title", true),
+    DESCRIPTION("description", true),
+    STATUS("status", true),
+    CREATED_AT("createdAt", true),
+    UPDATED_AT("updatedAt", true),
+    TAGS("tags", false);
+
+    private final String name;
+    private final boolean column;
+
+    TaskField(String name, boolean column) {
+        this.name = name;
+        this.column = column;
+    }
+
+    /**
+     * JSON property and entity attribute name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Whether the field is a column of the tasks table rather than a join
+     */
+    public boolean isColumn() {
+        return column;
+    }
+
+    /**
+     * Parse a comma-separated field list; the id is always included
+     */
+    public static Set<TaskField> parse(String fields) {
+        Set<TaskField> result = EnumSet.of(ID);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            result.add(fromName(name));
+        }
+        return result;
+    }
+
+    /**
+     * JSON property names of the given fields
+     */
+    public static Set<String> names(Set<TaskField> fields) {
+        return fields.stream().map(TaskField::getName).collect(Collectors.toSet());
+    }
+
+    private static TaskField fromName(String name) {
+        for (TaskField field : values()) {
+            if (field.name.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown task field: " + name.toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.tasktracker.dto;
+
+import com.example.tasktracker.entity.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskMoveRequest {
+    // Column to move the task into; may be its current one
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+
+    // Task to place it right after, if any
+    private Long afterTaskId;
+
+    // Task to place it right before, if any; with neither, it goes to the end
+    private Long beforeTaskId;
+}
@@ -1,6 +1,7 @@
 package com.example.tasktracker.dto;
 
 import com.example.tasktracker.entity.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
@@ -12,7 +13,14 @@ import java.util.ArrayList;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(TaskResponse.FIELD_FILTER)
 public class TaskResponse {
+
+    /**
+     * Jackson filter id used to serialize only the fields a client selected
+     */
+    public static final String FIELD_FILTER = "taskFields";
+
     private Long id;
     private String title;
     private String description;
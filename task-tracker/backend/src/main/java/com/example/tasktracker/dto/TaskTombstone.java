@@ -0,0 +1,13 @@
+package com.example.tasktracker.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A deleted task that has not been purged yet, for clients syncing deletions
+ */
+public interface TaskTombstone {
+
+    Long getId();
+
+    LocalDateTime getDeletedAt();
+}
@@ -0,0 +1,99 @@
+package com.example.tasktracker.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stored format for long text columns. A value starts with a private-use
+ * marker character followed by a format id: {@code 1} is Deflate, Base64
+ * encoded so the column stays textual, and {@code 0} escapes a plain value
+ * that happens to start with the marker. Anything else is plain text, so
+ * rows written before compression was introduced read back unchanged.
+ */
+public final class CompressedText {
+
+    public static final char MARKER = '\uE000';
+
+    private static final char RAW = '0';
+    private static final char DEFLATE = '1';
+
+    /**
+     * Prefix shared by all compressed values, e.g. for a LIKE pattern
+     */
+    public static final String DEFLATE_PREFIX = "" + MARKER + DEFLATE;
+
+    private CompressedText() {
+    }
+
+    /**
+     * Compress values of at least {@code threshold} characters when that makes them smaller
+     */
+    public static String encode(String value, int threshold) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        if (value.length() >= threshold) {
+            byte[] plain = value.getBytes(StandardCharsets.UTF_8);
+            String compressed = DEFLATE_PREFIX + Base64.getEncoder().encodeToString(deflate(plain));
+            // The prefix takes four bytes in UTF-8, the Base64 payload one per character
+            if (compressed.length() + 2 < plain.length) {
+                return compressed;
+            }
+        }
+        return value.charAt(0) == MARKER ? "" + MARKER + RAW + value : value;
+    }
+
+    /**
+     * Restore a stored value; plain values are returned as they are
+     */
+    public static String decode(String stored) {
+        if (stored == null || stored.isEmpty() || stored.charAt(0) != MARKER) {
+            return stored;
+        }
+        if (stored.length() < 2) {
+            throw new IllegalArgumentException("Truncated compressed text");
+        }
+        return switch (stored.charAt(1)) {
+            case RAW -> stored.substring(2);
+            case DEFLATE -> new String(inflate(Base64.getDecoder().decode(stored.substring(2))),
+                    StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Unknown compressed text format: " + stored.charAt(1));
+        };
+    }
+
+    /**
+     * Whether a stored value is compressed
+     */
+    public static boolean isCompressed(String stored) {
+        return stored != null && stored.startsWith(DEFLATE_PREFIX);
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 16);
+        try (DeflaterOutputStream stream = new DeflaterOutputStream(out, deflater)) {
+            stream.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data) {
+        try (InputStream stream = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt compressed text", e);
+        }
+    }
+}
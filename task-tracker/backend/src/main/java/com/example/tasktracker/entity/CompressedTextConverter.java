@@ -0,0 +1,28 @@
+package com.example.tasktracker.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+
+/**
+ * Compresses long text attributes on write and restores them on read.
+ * Created through Spring's bean container, so the threshold is configurable.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, String> {
+
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    @Value("${app.tasks.description-compression.threshold:" + DEFAULT_THRESHOLD + "}")
+    private int threshold = DEFAULT_THRESHOLD;
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return CompressedText.encode(attribute, threshold);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return CompressedText.decode(dbData);
+    }
+}
@@ -3,10 +3,18 @@ package com.example.tasktracker.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.PartitionKey;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -15,40 +23,82 @@ import java.util.Set;
 
 @Entity
 @Table(name = "tasks")
-@Data
+// Deleted tasks are tombstones until purged; no query sees them
+@SQLRestriction("deleted_at is null")
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
+    // Ids come from the sequence in blocks of 50 (pooled-lo), so inserts need no
+    // round trip for the key and can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
     private String title;
 
+    // Unbounded text: only loaded when read, so list queries over entities skip the column.
+    // Long values are stored compressed.
+    @Basic(fetch = FetchType.LAZY)
+    @Column(columnDefinition = "text")
+    @Convert(converter = CompressedTextConverter.class)
+    @ToString.Exclude
     private String description;
 
     @Enumerated(EnumType.STRING)
     private TaskStatus status = TaskStatus.TODO;
 
+    // Position within the owner's column for this status (see TaskRank); tasks
+    // sharing a rank fall back to id order
+    @Column(nullable = false)
+    private String rank = TaskRank.MIDDLE;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    private LocalDateTime deletedAt;
+
+    // Owner id, and the key tasks and task_tags may be hash-partitioned by: Hibernate adds it
+    // to the where clause of every update and delete. Written here; user is read-only.
+    @PartitionKey
+    @Column(name = "user_id")
+    @Setter(AccessLevel.NONE)
+    private Long userId;
+
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @Setter(AccessLevel.NONE)
     private User user;
 
+    // The owner id is part of each link row, so links are read and written per partition.
+    // Links to deleted tags stay until the tag is purged, so undoing the deletion restores them.
     @ManyToMany(fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task-tags")
+    @SQLRestriction("deleted_at is null")
     @JoinTable(
         name = "task_tags",
-        joinColumns = @JoinColumn(name = "task_id"),
+        joinColumns = {
+            @JoinColumn(name = "task_id", referencedColumnName = "id"),
+            @JoinColumn(name = "user_id", referencedColumnName = "user_id")
+        },
         inverseJoinColumns = @JoinColumn(name = "tag_id")
     )
+    @ToString.Exclude
     private Set<Tag> tags = new HashSet<>();
 
+    public void setUser(User user) {
+        this.user = user;
+        this.userId = user != null ? user.getId() : null;
+    }
+
     public void addTag(Tag tag) {
         this.tags.add(tag);
     }
@@ -60,4 +110,32 @@ public class Task {
     public void clearTags() {
         this.tags.clear();
     }
-}
\ No newline at end of file
+
+    /**
+     * Equal when both are persisted with the same id. Only the identifier is
+     * read, so comparing never loads associations. Tag, User and Profile follow
+     * the same contract.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) {
+            return false;
+        }
+        Task other = (Task) o;
+        return getId() != null && getId().equals(other.getId());
+    }
+
+    /**
+     * Per class, so it stays the same when persisting assigns the id and an
+     * entity can go into a set before it is saved. Entities of one class share a
+     * bucket, which costs little: the sets they sit in, such as a task's tags,
+     * hold a handful of entries.
+     */
+    @Override
+    public int hashCode() {
+        return Hibernate.getClass(this).hashCode();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.tasktracker.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranks for ordering tasks within a board column. A rank is a base-36 number
+ * written so that ranks compare as plain strings: an integer part, led by a
+ * digit giving its length, followed by an optional fraction. Appending or
+ * prepending steps the integer part, so it grows by about one digit per
+ * factor of 36 in column size; only placing a task between two others splits
+ * the gap with a fraction. Either way only the moved task's rank changes.
+ * <p>
+ * The head digit {@code i} to {@code z} stands for a non-negative integer of
+ * 1 to 18 digits, {@code h} down to {@code 0} for a negative one of 1 to 18
+ * digits, so a longer integer sorts further out. Ranks use only {@code 0-9}
+ * and {@code a-z}, which sort the same under the C and the usual linguistic
+ * collations, and fractions never end in {@code 0}, so no two different
+ * strings stand for the same position.
+ */
+public final class TaskRank {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+
+    // Head digit of the one-digit non-negative integers; the ones below it are negative
+    private static final int ZERO_HEAD = DIGITS.indexOf('i');
+
+    /**
+     * Rank of a task that is the only one in its column
+     */
+    public static final String MIDDLE = "i0";
+
+    private TaskRank() {
+    }
+
+    /**
+     * A rank sorting after {@code lower} and before {@code upper}; null means
+     * the start or the end of the column
+     */
+    public static String between(String lower, String upper) {
+        if (lower != null && upper != null && lower.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException("Rank '" + lower + "' does not sort before '" + upper + "'");
+        }
+        if (lower == null && upper == null) {
+            return MIDDLE;
+        }
+        if (lower == null) {
+            String integer = integerPart(upper);
+            String fraction = upper.substring(integer.length());
+            if (!fraction.isEmpty()) {
+                return integer + midpoint("", fraction);
+            }
+            return step(integer, -1);
+        }
+        String integer = integerPart(lower);
+        String fraction = lower.substring(integer.length());
+        if (upper != null && upper.startsWith(integer)) {
+            return integer + midpoint(fraction, upper.substring(integer.length()));
+        }
+        // The next integer, unless that is not below upper
+        String next = step(integer, 1);
+        if (upper == null || next.compareTo(upper) < 0) {
+            return next;
+        }
+        return integer + midpoint(fraction, null);
+    }
+
+    /**
+     * {@code count} ascending ranks one integer apart from {@link #MIDDLE}
+     * on, as short as ranks get, for rebalancing a column
+     */
+    public static List<String> spread(int count) {
+        List<String> ranks = new ArrayList<>(count);
+        String rank = MIDDLE;
+        for (int i = 0; i < count; i++) {
+            ranks.add(rank);
+            rank = step(rank, 1);
+        }
+        return ranks;
+    }
+
+    private static String integerPart(String rank) {
+        int head = DIGITS.indexOf(rank.charAt(0));
+        int length = integerLength(head);
+        if (head < 0 || rank.length() <= length) {
+            throw new IllegalArgumentException("Invalid rank '" + rank + "'");
+        }
+        return rank.substring(0, length + 1);
+    }
+
+    /**
+     * Number of digits of an integer with the given head
+     */
+    private static int integerLength(int head) {
+        return head >= ZERO_HEAD ? head - ZERO_HEAD + 1 : ZERO_HEAD - head;
+    }
+
+    /**
+     * The integer one above ({@code delta} 1) or below ({@code delta} -1);
+     * past the last integer of a head comes the first one of the next head
+     */
+    private static String step(String integer, int delta) {
+        char[] digits = integer.substring(1).toCharArray();
+        for (int i = digits.length - 1; i >= 0; i--) {
+            int digit = DIGITS.indexOf(digits[i]) + delta;
+            if (digit >= 0 && digit < BASE) {
+                digits[i] = DIGITS.charAt(digit);
+                return integer.charAt(0) + new String(digits);
+            }
+            digits[i] = delta > 0 ? '0' : 'z';
+        }
+        int head = DIGITS.indexOf(integer.charAt(0)) + delta;
+        if (head < 0 || head >= BASE) {
+            throw new IllegalStateException("No rank left beyond '" + integer + "'");
+        }
+        return DIGITS.charAt(head) + String.valueOf(delta > 0 ? '0' : 'z').repeat(integerLength(head));
+    }
+
+    /**
+     * A fraction between two fractions, given as their digits after the
+     * point; null for {@code b} means 1
+     */
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            // Shared leading digits (a padded with zeros) stay as they are
+            int n = 0;
+            while (n < b.length() && digitAt(a, n) == DIGITS.indexOf(b.charAt(n))) {
+                n++;
+            }
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(a.length() > n ? a.substring(n) : "", b.substring(n));
+            }
+        }
+        int low = digitAt(a, 0);
+        int high = b != null ? DIGITS.indexOf(b.charAt(0)) : BASE;
+        if (high - low > 1) {
+            return String.valueOf(DIGITS.charAt((low + high) / 2));
+        }
+        // Neighbouring first digits: b's first digit alone sorts below a longer b,
+        // otherwise keep a's first digit and go one level deeper
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(low) + midpoint(a.length() > 1 ? a.substring(1) : "", null);
+    }
+
+    private static int digitAt(String value, int index) {
+        return index < value.length() ? DIGITS.indexOf(value.charAt(index)) : 0;
+    }
+}
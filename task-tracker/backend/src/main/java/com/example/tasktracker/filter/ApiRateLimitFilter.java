@@ -0,0 +1,103 @@
+package com.example.tasktracker.filter;
+
+import com.example.tasktracker.ratelimit.ApiRoute;
+import com.example.tasktracker.ratelimit.StripedTokenBucket;
+import com.example.tasktracker.service.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user rate limit for the API, with separate read, write and search
+ * budgets. Runs after the security filter chain so the user is known;
+ * anonymous requests are left to Spring Security. Budgets are keyed by user
+ * id, so users cannot pick names that share another user's budget. The
+ * allowed path does not allocate: classification, the bucket check and the
+ * counters all reuse existing objects.
+ */
+public class ApiRateLimitFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+    private final StripedTokenBucket[] buckets;
+    private final Counter[] allowed;
+    private final Counter[] rejected;
+    private final long seed = new SecureRandom().nextLong();
+
+    public ApiRateLimitFilter(Map<ApiRoute, StripedTokenBucket> bucketsByRoute, MeterRegistry meterRegistry,
+                              ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        ApiRoute[] routes = ApiRoute.values();
+        this.buckets = new StripedTokenBucket[routes.length];
+        this.allowed = new Counter[routes.length];
+        this.rejected = new Counter[routes.length];
+        for (ApiRoute route : routes) {
+            String tag = route.name().toLowerCase(Locale.ROOT);
+            buckets[route.ordinal()] = Objects.requireNonNull(bucketsByRoute.get(route), "No budget for " + route);
+            allowed[route.ordinal()] = meterRegistry.counter("api.ratelimit.requests", "route", tag, "result", "allowed");
+            rejected[route.ordinal()] = meterRegistry.counter("api.ratelimit.requests", "route", tag, "result", "rejected");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Login has its own throttle
+        return request.getRequestURI().startsWith("/api/auth/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        int route = ApiRoute.classify(request.getMethod(), request.getRequestURI()).ordinal();
+        long waitNanos = buckets[route].tryAcquire(key(authentication));
+        if (waitNanos == 0) {
+            allowed[route].increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        rejected[route].increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        FilterErrorResponses.write(response, objectMapper, HttpStatus.TOO_MANY_REQUESTS,
+                "Rate limit exceeded, slow down", retryAfterSeconds);
+    }
+
+    private long key(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        // Principals without an id, e.g. sessions from before ids were carried:
+        // a hash of the username seeded per process, so colliding names cannot
+        // be worked out in advance (String.hashCode collisions are trivial)
+        String name = authentication.getName();
+        long h = seed;
+        for (int i = 0; i < name.length(); i++) {
+            h = (h ^ name.charAt(i)) * 0x100000001B3L;
+        }
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.tasktracker.filter;
+
+import com.example.tasktracker.ratelimit.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds API requests once the adaptive concurrency limit is reached, so a
+ * database slowdown cannot tie up every Tomcat thread. Routes outside
+ * {@code /api/} (such as {@code /health}) are never queued behind the API.
+ * Admin routes may use the headroom reserved for them, but only for a caller
+ * already authenticated as an admin: the filter runs after the security filter
+ * chain, so an anonymous request cannot claim the reserve by its URI.
+ * <p>
+ * Logins and streamed downloads take a slot but do not feed the limit: a
+ * login's latency is dominated by password hashing, and a stream's by the
+ * client's download speed, so either would keep cutting the limit for
+ * everyone else.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+    private final Counter rejectedPriority;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.rejected = meterRegistry.counter("api.concurrency.rejected", "priority", "false");
+        this.rejectedPriority = meterRegistry.counter("api.concurrency.rejected", "priority", "true");
+        Gauge.builder("api.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for /api")
+                .register(meterRegistry);
+        Gauge.builder("api.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("API requests currently being served")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean priority = isPriority(request);
+        if (!limiter.tryAcquire(priority)) {
+            (priority ? rejectedPriority : rejected).increment();
+            FilterErrorResponses.write(response, objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Server is busy, please retry", 1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (isLatencySampled(request.getRequestURI())) {
+                limiter.release(System.nanoTime() - start);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+
+    private static boolean isPriority(HttpServletRequest request) {
+        if (!request.getRequestURI().startsWith("/api/admin/")) {
+            return false;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if ("ROLE_ADMIN".equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLatencySampled(String uri) {
+        return !uri.startsWith("/api/auth/") && !uri.endsWith("/stream");
+    }
+}
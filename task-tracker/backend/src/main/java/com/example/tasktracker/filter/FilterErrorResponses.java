@@ -0,0 +1,40 @@
+package com.example.tasktracker.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes error bodies from servlet filters in the same shape as
+ * {@code GlobalExceptionHandler}, which filters cannot reach.
+ */
+final class FilterErrorResponses {
+
+    private FilterErrorResponses() {
+    }
+
+    /**
+     * @param retryAfterSeconds sent as Retry-After when positive
+     */
+    static void write(HttpServletResponse response, ObjectMapper objectMapper, HttpStatus status,
+                      String message, long retryAfterSeconds) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("message", message);
+        body.put("status", status.value());
+
+        response.setStatus(status.value());
+        if (retryAfterSeconds > 0) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.tasktracker.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to measured latency (AIMD).
+ * <p>
+ * Each request that completes within the target latency while the limit is
+ * nearly used raises the limit by {@code 1/limit}, which adds about one slot
+ * per full round of requests. A request slower than the target cuts the limit
+ * by the backoff ratio, at most once per cooldown, so one slow burst does not
+ * collapse it. Normal requests may use the limit minus a reserved headroom;
+ * priority requests may use all of it.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int reserved;
+    private final long targetLatencyNanos;
+    private final double backoffRatio;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /**
+     * Current limit as raw double bits, so it can be updated with CAS
+     */
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseAt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int reserved,
+                                      long targetLatencyNanos, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, reserved, targetLatencyNanos, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int reserved,
+                               long targetLatencyNanos, double backoffRatio, LongSupplier clock) {
+        if (minLimit <= reserved || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Expected reserved < min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.reserved = reserved;
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.backoffRatio = backoffRatio;
+        this.clock = clock;
+        this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initialLimit));
+        this.lastDecreaseAt = new AtomicLong(clock.getAsLong() - targetLatencyNanos);
+    }
+
+    /**
+     * Try to take a slot. Callers that get {@code true} must call
+     * {@link #release(long)} when the request finishes.
+     *
+     * @param priority whether the request may use the reserved headroom
+     */
+    public boolean tryAcquire(boolean priority) {
+        int allowed = priority ? getLimit() : getLimit() - reserved;
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give a slot back and feed the request's latency into the limit
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (latencyNanos > targetLatencyNanos) {
+            decrease();
+        } else if (inFlightBefore * 2 >= getLimit()) {
+            // Only grow while the limit is actually being used
+            increase();
+        }
+    }
+
+    /**
+     * Give a slot back without a latency sample, for requests whose duration
+     * says nothing about how loaded the server is
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private double limit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    private void increase() {
+        while (true) {
+            long bits = limitBits.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = Math.min(maxLimit, current + 1.0 / current);
+            if (next == current || limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private void decrease() {
+        long now = clock.getAsLong();
+        long last = lastDecreaseAt.get();
+        // Requests already in flight during the last cut would report the same slowdown again
+        if (now - last < targetLatencyNanos || !lastDecreaseAt.compareAndSet(last, now)) {
+            return;
+        }
+        while (true) {
+            long bits = limitBits.get();
+            double next = Math.max(minLimit, Double.longBitsToDouble(bits) * backoffRatio);
+            if (limitBits.compareAndSet(bits, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.tasktracker.ratelimit;
+
+/**
+ * Route classes with separate rate-limit budgets
+ */
+public enum ApiRoute {
+    READ,
+    WRITE,
+    SEARCH;
+
+    /**
+     * Classify a request; allocation-free
+     */
+    public static ApiRoute classify(String method, String uri) {
+        if (uri.endsWith("/search")) {
+            return SEARCH;
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? READ : WRITE;
+    }
+}
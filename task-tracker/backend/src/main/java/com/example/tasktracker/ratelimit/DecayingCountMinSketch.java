@@ -0,0 +1,133 @@
+package com.example.tasktracker.ratelimit;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-memory approximate counter over a sliding time window.
+ * <p>
+ * Two count-min sketches are kept: the current window and the previous one.
+ * The estimate is the current count plus the previous count weighted by how
+ * much of the previous window still overlaps the sliding window. Memory is
+ * {@code 2 * depth * width} ints no matter how many distinct keys are seen.
+ * Estimates can only overcount, never undercount.
+ */
+public class DecayingCountMinSketch {
+
+    private final int depth;
+    private final int widthMask;
+    private final long windowMillis;
+    private final long seed;
+    private final LongSupplier clock;
+    private final AtomicReference<Generation> generation;
+
+    public DecayingCountMinSketch(int depth, int width, long windowMillis) {
+        this(depth, width, windowMillis, new SecureRandom().nextLong(), System::currentTimeMillis);
+    }
+
+    DecayingCountMinSketch(int depth, int width, long windowMillis, long seed, LongSupplier clock) {
+        if (depth < 1 || width < 2 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be positive and width a power of two");
+        }
+        this.depth = depth;
+        this.widthMask = width - 1;
+        this.windowMillis = windowMillis;
+        this.seed = seed;
+        this.clock = clock;
+        this.generation = new AtomicReference<>(
+                new Generation(clock.getAsLong() / windowMillis, newCounters(), newCounters()));
+    }
+
+    /**
+     * Count one occurrence of the key in the current window
+     */
+    public void increment(String key) {
+        AtomicIntegerArray counters = currentGeneration().current();
+        long hash = hash(key, seed);
+        for (int row = 0; row < depth; row++) {
+            counters.incrementAndGet(slot(hash, row));
+        }
+    }
+
+    /**
+     * Approximate occurrences of the key over the last window length
+     */
+    public double estimate(String key) {
+        Generation current = currentGeneration();
+        long hash = hash(key, seed);
+        int currentCount = Integer.MAX_VALUE;
+        int previousCount = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int slot = slot(hash, row);
+            currentCount = Math.min(currentCount, current.current().get(slot));
+            previousCount = Math.min(previousCount, current.previous().get(slot));
+        }
+        return currentCount + previousCount * (1.0 - windowProgress());
+    }
+
+    /**
+     * Milliseconds until the current window rotates
+     */
+    public long millisUntilRotation() {
+        return windowMillis - clock.getAsLong() % windowMillis;
+    }
+
+    private double windowProgress() {
+        return (double) (clock.getAsLong() % windowMillis) / windowMillis;
+    }
+
+    private Generation currentGeneration() {
+        long window = clock.getAsLong() / windowMillis;
+        Generation existing = generation.get();
+        while (existing.window() < window) {
+            // Skipping more than one window means the previous one saw no traffic
+            AtomicIntegerArray previous = existing.window() == window - 1 ? existing.current() : newCounters();
+            Generation rotated = new Generation(window, newCounters(), previous);
+            if (generation.compareAndSet(existing, rotated)) {
+                return rotated;
+            }
+            existing = generation.get();
+        }
+        return existing;
+    }
+
+    private AtomicIntegerArray newCounters() {
+        return new AtomicIntegerArray(depth * (widthMask + 1));
+    }
+
+    private int slot(long hash, int row) {
+        return row * (widthMask + 1) + index(hash, row, widthMask);
+    }
+
+    /**
+     * 64-bit FNV-1a over the key's chars, seeded and finalized with the
+     * MurmurHash3 mixer. Seeding stops callers from crafting colliding keys offline.
+     */
+    static long hash(String key, long seed) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Column for a row, derived from two halves of one hash (Kirsch-Mitzenmacher)
+     */
+    static int index(long hash, int row, int widthMask) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + row * h2) & widthMask;
+    }
+
+    private record Generation(long window, AtomicIntegerArray current, AtomicIntegerArray previous) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.tasktracker.ratelimit;
+
+/**
+ * Per-node store backed by an in-memory sketch. Each replica counts only the
+ * attempts it served, so the effective limit scales with the replica count.
+ */
+public class LocalLoginAttemptStore implements LoginAttemptStore {
+
+    private final DecayingCountMinSketch sketch;
+
+    public LocalLoginAttemptStore(int depth, int width, long windowMillis) {
+        this.sketch = new DecayingCountMinSketch(depth, width, windowMillis);
+    }
+
+    @Override
+    public void recordFailure(String key) {
+        sketch.increment(key);
+    }
+
+    @Override
+    public double getFailures(String key) {
+        return sketch.estimate(key);
+    }
+
+    @Override
+    public long millisUntilRotation() {
+        return sketch.millisUntilRotation();
+    }
+}
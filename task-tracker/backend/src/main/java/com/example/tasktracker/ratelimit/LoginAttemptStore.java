@@ -0,0 +1,24 @@
+package com.example.tasktracker.ratelimit;
+
+/**
+ * Counts failed logins per key (a username or a client IP) over a sliding
+ * window. Implementations must keep memory bounded regardless of how many
+ * distinct keys an attacker sends.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Record one failed login for the key
+     */
+    void recordFailure(String key);
+
+    /**
+     * Approximate failed logins for the key over the sliding window
+     */
+    double getFailures(String key);
+
+    /**
+     * Milliseconds until the current window rolls over
+     */
+    long millisUntilRotation();
+}
@@ -0,0 +1,77 @@
+package com.example.tasktracker.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import java.util.Locale;
+
+/**
+ * Decides whether a login attempt may reach the {@code AuthenticationManager},
+ * based on recent failures for the same username and the same client IP.
+ * Failures are recorded from Spring Security's authentication failure events.
+ */
+public class LoginThrottle {
+
+    private final LoginAttemptStore store;
+    private final int maxFailuresPerUsername;
+    private final int maxFailuresPerIp;
+    private final Counter throttledByUsername;
+    private final Counter throttledByIp;
+    private final Counter failuresRecorded;
+
+    public LoginThrottle(LoginAttemptStore store, int maxFailuresPerUsername, int maxFailuresPerIp,
+                         MeterRegistry meterRegistry) {
+        this.store = store;
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.throttledByUsername = meterRegistry.counter("auth.login.throttled", "scope", "username");
+        this.throttledByIp = meterRegistry.counter("auth.login.throttled", "scope", "ip");
+        this.failuresRecorded = meterRegistry.counter("auth.login.failures");
+    }
+
+    /**
+     * Check an attempt before authenticating it.
+     *
+     * @param username may be null if the body could not be read
+     * @return seconds the client should wait, or 0 if the attempt may proceed
+     */
+    public long checkAttempt(String ip, String username) {
+        if (store.getFailures(ipKey(ip)) >= maxFailuresPerIp) {
+            throttledByIp.increment();
+            return retryAfterSeconds();
+        }
+        if (username != null && store.getFailures(usernameKey(username)) >= maxFailuresPerUsername) {
+            throttledByUsername.increment();
+            return retryAfterSeconds();
+        }
+        return 0;
+    }
+
+    @EventListener
+    public void onBadCredentials(AuthenticationFailureBadCredentialsEvent event) {
+        failuresRecorded.increment();
+        Object principal = event.getAuthentication().getPrincipal();
+        if (principal instanceof String username) {
+            store.recordFailure(usernameKey(username));
+        }
+        if (event.getAuthentication().getDetails() instanceof WebAuthenticationDetails details
+                && details.getRemoteAddress() != null) {
+            store.recordFailure(ipKey(details.getRemoteAddress()));
+        }
+    }
+
+    private long retryAfterSeconds() {
+        return Math.max(1, (store.millisUntilRotation() + 999) / 1000);
+    }
+
+    private static String usernameKey(String username) {
+        return "user:" + username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String ip) {
+        return "ip:" + ip;
+    }
+}
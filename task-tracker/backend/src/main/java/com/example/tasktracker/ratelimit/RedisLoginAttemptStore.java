@@ -0,0 +1,108 @@
+package com.example.tasktracker.ratelimit;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.List;
+
+/**
+ * Store shared by all replicas: the same count-min sketch layout as
+ * {@link DecayingCountMinSketch}, kept as one Redis hash per row and window.
+ * The hashes expire after two windows, so Redis holds at most
+ * {@code 2 * depth * width} counters whatever the number of distinct keys.
+ * Windows are aligned to the epoch so every node agrees on them.
+ */
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String keyPrefix;
+    private final int depth;
+    private final int widthMask;
+    private final long windowMillis;
+    private final long seed;
+
+    public RedisLoginAttemptStore(StringRedisTemplate redisTemplate, String keyPrefix,
+                                  int depth, int width, long windowMillis, long seed) {
+        if (depth < 1 || width < 2 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be positive and width a power of two");
+        }
+        this.redisTemplate = redisTemplate;
+        this.keyPrefix = keyPrefix;
+        this.depth = depth;
+        this.widthMask = width - 1;
+        this.windowMillis = windowMillis;
+        this.seed = seed;
+    }
+
+    /**
+     * The hash seed all replicas share when none is configured: picked at
+     * random by the first node to start and kept only in Redis, so it cannot
+     * be read from the configuration or the image
+     */
+    public static long sharedSeed(StringRedisTemplate redisTemplate, String seedKey) {
+        redisTemplate.opsForValue().setIfAbsent(seedKey, Long.toString(new SecureRandom().nextLong()));
+        return Long.parseLong(redisTemplate.opsForValue().get(seedKey));
+    }
+
+    @Override
+    public void recordFailure(String key) {
+        long window = System.currentTimeMillis() / windowMillis;
+        long hash = DecayingCountMinSketch.hash(key, seed);
+        long ttlSeconds = Math.max(1, 2 * windowMillis / 1000);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int row = 0; row < depth; row++) {
+                byte[] rowKey = rowKey(window, row);
+                connection.hashCommands().hIncrBy(rowKey, field(hash, row), 1);
+                connection.keyCommands().expire(rowKey, ttlSeconds);
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public double getFailures(String key) {
+        long now = System.currentTimeMillis();
+        long window = now / windowMillis;
+        long hash = DecayingCountMinSketch.hash(key, seed);
+        List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int row = 0; row < depth; row++) {
+                readCounter(connection, rowKey(window, row), field(hash, row));
+                readCounter(connection, rowKey(window - 1, row), field(hash, row));
+            }
+            return null;
+        });
+
+        long current = Long.MAX_VALUE;
+        long previous = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            current = Math.min(current, toLong(counts.get(2 * row)));
+            previous = Math.min(previous, toLong(counts.get(2 * row + 1)));
+        }
+        double progress = (double) (now % windowMillis) / windowMillis;
+        return current + previous * (1.0 - progress);
+    }
+
+    @Override
+    public long millisUntilRotation() {
+        return windowMillis - System.currentTimeMillis() % windowMillis;
+    }
+
+    private static void readCounter(RedisConnection connection, byte[] rowKey, byte[] field) {
+        connection.hashCommands().hGet(rowKey, field);
+    }
+
+    private byte[] rowKey(long window, int row) {
+        return (keyPrefix + window + ":" + row).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] field(long hash, int row) {
+        return Integer.toString(DecayingCountMinSketch.index(hash, row, widthMask)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0 : Long.parseLong(value.toString());
+    }
+}
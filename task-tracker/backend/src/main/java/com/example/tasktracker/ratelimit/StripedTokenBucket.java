@@ -0,0 +1,82 @@
+package com.example.tasktracker.ratelimit;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token buckets for many keys in one flat {@link AtomicLongArray}.
+ * <p>
+ * Each slot holds a single long: the time at which its bucket will be full
+ * again (the GCRA form of a token bucket). Taking a token pushes that time
+ * forward by one refill interval. A request is allowed while the time stays
+ * within {@code burst} intervals of now. A check is one CAS and allocates nothing.
+ * <p>
+ * Keys are hashed onto a fixed number of slots, so memory does not grow with
+ * the number of users, and two keys that land in the same slot share one
+ * budget. The hash is seeded per instance, so which keys share is random and
+ * cannot be worked out from the keys alone; size the slot count well above the
+ * number of keys active at the same time.
+ */
+public class StripedTokenBucket {
+
+    private final AtomicLongArray fullAt;
+    private final int slotMask;
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final long origin;
+    private final long seed;
+
+    public StripedTokenBucket(int slots, double tokensPerSecond, int burst) {
+        this(slots, tokensPerSecond, burst, System::nanoTime, new SecureRandom().nextLong());
+    }
+
+    StripedTokenBucket(int slots, double tokensPerSecond, int burst, LongSupplier clock, long seed) {
+        if (Integer.bitCount(slots) != 1 || tokensPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("slots must be a power of two, rate and burst positive");
+        }
+        this.fullAt = new AtomicLongArray(slots);
+        this.slotMask = slots - 1;
+        this.refillIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / tokensPerSecond);
+        this.burstNanos = refillIntervalNanos * burst;
+        this.clock = clock;
+        // Slots start at 0, i.e. full; keep "now" non-negative so that holds
+        this.origin = clock.getAsLong();
+        this.seed = seed;
+    }
+
+    /**
+     * Take one token for the key.
+     *
+     * @return 0 if allowed, otherwise nanoseconds until a token is available
+     */
+    public long tryAcquire(long key) {
+        int slot = slot(key);
+        long now = clock.getAsLong() - origin;
+        while (true) {
+            long current = fullAt.get(slot);
+            long next = Math.max(current, now) + refillIntervalNanos;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(slot, current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * MurmurHash3's fmix64 finalizer over the seeded key, so keys that differ
+     * only in their high bits, such as ids a slot count apart, land apart
+     */
+    private int slot(long key) {
+        long h = key ^ seed;
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h & slotMask;
+    }
+}
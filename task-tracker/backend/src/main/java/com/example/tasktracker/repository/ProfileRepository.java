@@ -2,17 +2,26 @@ package com.example.tasktracker.repository;
 
 import com.example.tasktracker.entity.Profile;
 import com.example.tasktracker.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface ProfileRepository extends JpaRepository<Profile, Long> {
 
     /**
      * Find a profile by its associated user.
      */
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "lookup-queries")
+    })
     Optional<Profile> findByUser(User user);
     
 }
\ No newline at end of file
@@ -2,14 +2,22 @@ package com.example.tasktracker.repository;
 
 import com.example.tasktracker.entity.Tag;
 import com.example.tasktracker.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
     
@@ -39,6 +47,10 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
      * Find tags by IDs and user (for validation when assigning tags to tasks)
      */
     @Query("SELECT t FROM Tag t WHERE t.id IN :tagIds AND t.user.id = :userId")
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "lookup-queries")
+    })
     List<Tag> findByIdsAndUserId(@Param("tagIds") List<Long> tagIds, @Param("userId") Long userId);
     
     /**
@@ -50,4 +62,24 @@ public interface TagRepository extends JpaRepository<Tag, Long> {
      * Count tags for a specific user
      */
     long countByUser(User user);
+
+    /**
+     * Find the id of a user's deleted, not yet purged tag with the given name,
+     * which still holds the name in the unique constraint
+     */
+    @Query(value = "select id from tags where user_id = :userId and name = :name and deleted_at is not null",
+            nativeQuery = true)
+    Optional<Long> findDeletedIdByUserIdAndName(@Param("userId") Long userId, @Param("name") String name);
+
+    /**
+     * Undo the deletion of a user's tag, if it was deleted at or after the given
+     * time. Declared as touching tags, so Hibernate evicts the cached tag
+     * entries, and clears the persistence context of the deleted copy.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update tags set deleted_at = null "
+            + "where id = :id and user_id = :userId and deleted_at >= :since", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "tags"))
+    int restoreDeletedByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId,
+                                    @Param("since") LocalDateTime since);
 }
@@ -0,0 +1,86 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.dto.TagResponse;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.entity.CompressedText;
+import com.example.tasktracker.entity.TaskStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read access to archived tasks (tasks_archive, task_tags_archive). They are
+ * not entities: the archive is written by TaskArchiver and only read here,
+ * always per owner.
+ */
+@Repository
+public class TaskArchiveRepository {
+
+    private static final String TASKS_SQL =
+            "select id, title, description, status, created_at, updated_at "
+                    + "from tasks_archive where user_id = ? order by id";
+
+    // Search candidates, see TaskSearch
+    private static final String MATCHING_TASKS_SQL =
+            "select id, title, description, status, created_at, updated_at "
+                    + "from tasks_archive where user_id = ? "
+                    + "and (lower(title) like ? escape '!' or lower(description) like ? escape '!' "
+                    + "or substring(description, 1, 2) = ?) "
+                    + "order by id";
+
+    private static final String TAGS_SQL =
+            "select a.task_id, g.id, g.name, g.color, g.created_at, g.updated_at "
+                    + "from task_tags_archive a join tags g on g.id = a.tag_id "
+                    + "where a.user_id = ? and g.deleted_at is null";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Load complete responses for a user's archived tasks, optionally filtered
+     * by a case-insensitive title/description search
+     */
+    public List<TaskResponse> findResponsesByUser(Long userId, String query) {
+        List<TaskResponse> rows;
+        if (query == null) {
+            rows = jdbcTemplate.query(TASKS_SQL, (rs, rowNum) -> toResponse(rs), userId);
+        } else {
+            String pattern = TaskSearch.likePattern(query);
+            rows = jdbcTemplate.query(MATCHING_TASKS_SQL, (rs, rowNum) -> toResponse(rs),
+                    userId, pattern, pattern, CompressedText.DEFLATE_PREFIX);
+        }
+
+        Map<Long, TaskResponse> responses = new LinkedHashMap<>();
+        for (TaskResponse response : rows) {
+            if (query == null || TaskSearch.matches(response, query)) {
+                responses.put(response.getId(), response);
+            }
+        }
+        if (!responses.isEmpty()) {
+            jdbcTemplate.query(TAGS_SQL, rs -> {
+                TaskResponse response = responses.get(rs.getLong(1));
+                if (response != null) {
+                    response.getTags().add(new TagResponse(rs.getLong(2), rs.getString(3), rs.getString(4),
+                            rs.getObject(5, LocalDateTime.class), rs.getObject(6, LocalDateTime.class)));
+                }
+            }, userId);
+        }
+        return new ArrayList<>(responses.values());
+    }
+
+    private static TaskResponse toResponse(ResultSet rs) throws SQLException {
+        String status = rs.getString("status");
+        return new TaskResponse(rs.getLong("id"), rs.getString("title"),
+                CompressedText.decode(rs.getString("description")),
+                status != null ? TaskStatus.valueOf(status) : null,
+                rs.getObject("created_at", LocalDateTime.class), rs.getObject("updated_at", LocalDateTime.class));
+    }
+}
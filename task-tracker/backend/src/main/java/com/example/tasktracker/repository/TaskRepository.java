@@ -1,25 +1,98 @@
 package com.example.tasktracker.repository;
 
+import com.example.tasktracker.dto.TaskStatusCount;
+import com.example.tasktracker.dto.TaskTombstone;
 import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.TaskStatus;
 import com.example.tasktracker.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+/**
+ * Every query here is scoped to one owner (user_id), so it touches a single
+ * partition when tasks and task_tags are hash-partitioned by user.
+ */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
     /**
      * Find tasks by their associated user.
      */
     List<Task> findByUser(User user);
 
+    /**
+     * Find one of a user's tasks.
+     */
+    Optional<Task> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Find one of a user's tasks together with everything a response needs:
+     * its tags and description.
+     */
+    @EntityGraph(attributePaths = {"tags", "description"})
+    Optional<Task> findWithTagsByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Find one page of tasks by their associated user.
+     */
+    Page<Task> findByUser(User user, Pageable pageable);
+
+    /**
+     * Count a user's tasks per status in one grouped query.
+     */
+    @Query("select new com.example.tasktracker.dto.TaskStatusCount(t.status, count(t)) "
+            + "from Task t where t.user.id = :userId group by t.status")
+    List<TaskStatusCount> countByStatusForUser(@Param("userId") Long userId);
+
+    /**
+     * Find a user's tasks that carry a given tag.
+     */
+    List<Task> findByUserIdAndTagsId(Long userId, Long tagId);
+
     /**
      * Find tasks by their associated user and status.
      */
     List<Task> findByUserAndStatus(User user, com.example.tasktracker.entity.TaskStatus status);
 
+    /**
+     * The last rank in one of a user's board columns, or null if it is empty.
+     * Read from the end of the (user_id, status, rank) index.
+     */
+    @Query("select max(t.rank) from Task t where t.user.id = :userId and t.status = :status")
+    String findLastRank(@Param("userId") Long userId, @Param("status") TaskStatus status);
+
+    /**
+     * The rank right after the given one in a user's board column, ignoring one task
+     * (the one being moved), or null if there is none
+     */
+    @Query("select min(t.rank) from Task t where t.user.id = :userId and t.status = :status "
+            + "and t.rank > :rank and t.id <> :excludedId")
+    String findRankAfter(@Param("userId") Long userId, @Param("status") TaskStatus status,
+                         @Param("rank") String rank, @Param("excludedId") Long excludedId);
+
+    /**
+     * The rank right before the given one in a user's board column, ignoring one task
+     * (the one being moved), or null if there is none
+     */
+    @Query("select max(t.rank) from Task t where t.user.id = :userId and t.status = :status "
+            + "and t.rank < :rank and t.id <> :excludedId")
+    String findRankBefore(@Param("userId") Long userId, @Param("status") TaskStatus status,
+                          @Param("rank") String rank, @Param("excludedId") Long excludedId);
+
     /**
      * Search tasks by title or description containing the query string
      * (case-insensitive).
@@ -27,4 +100,24 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByUserAndTitleContainingIgnoreCaseOrUserAndDescriptionContainingIgnoreCase(
             User user1, String titleQuery, User user2, String descriptionQuery);
 
+    /**
+     * Undo the deletion of one of a user's tasks, if it was deleted at or after
+     * the given time. Native, as deleted tasks are invisible to JPQL; the
+     * persistence context is cleared so it does not keep the deleted copy.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "update tasks set deleted_at = null "
+            + "where id = :id and user_id = :userId and deleted_at >= :since", nativeQuery = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "tasks"))
+    int restoreDeletedByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId,
+                                    @Param("since") LocalDateTime since);
+
+    /**
+     * Tombstones of a user's tasks deleted after the given time and not yet purged, oldest first
+     */
+    @Query(value = "select id, deleted_at as deletedAt from tasks "
+            + "where user_id = :userId and deleted_at > :since order by deleted_at, id", nativeQuery = true)
+    List<TaskTombstone> findTombstonesByUserIdSince(@Param("userId") Long userId,
+                                                    @Param("since") LocalDateTime since);
+
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.dto.TaskField;
+import com.example.tasktracker.dto.TaskResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Task queries that Spring Data cannot derive
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Load only the given fields of a user's tasks, optionally filtered by a
+     * case-insensitive title/description search. Unselected fields stay null
+     * and tags are only joined when {@link TaskField#TAGS} is selected.
+     */
+    List<TaskResponse> findFieldsByUser(Long userId, String query, Set<TaskField> fields);
+
+    /**
+     * Load complete responses for a user's tasks, optionally filtered by a
+     * case-insensitive title/description search, without materializing entities.
+     */
+    List<TaskResponse> findResponsesByUser(Long userId, String query);
+
+    /**
+     * Load one page of complete responses for a user's tasks without materializing entities
+     */
+    Page<TaskResponse> findResponsePageByUser(Long userId, Pageable pageable);
+
+    /**
+     * Load board cards for a user's tasks in board order: by status, then rank
+     * within each status, as the (user_id, status, rank) index returns them.
+     * Cards carry tags but no description.
+     */
+    List<TaskResponse> findBoardByUser(Long userId);
+}
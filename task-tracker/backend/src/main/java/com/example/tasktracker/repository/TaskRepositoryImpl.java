@@ -0,0 +1,235 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.dto.TagResponse;
+import com.example.tasktracker.dto.TaskField;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.entity.CompressedText;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final String OWNED = "t.user.id = :userId";
+
+    // Search candidates, see TaskSearch
+    private static final String OWNED_AND_MATCHING = OWNED
+            + " and (lower(t.title) like :pattern escape '!' or lower(t.description) like :pattern escape '!'"
+            + " or locate(:compressed, t.description) = 1)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskResponse> findFieldsByUser(Long userId, String query, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<Task> task = criteria.from(Task.class);
+
+        // A search needs the text columns to re-check compressed descriptions
+        Set<TaskField> selected = EnumSet.copyOf(fields);
+        if (query != null) {
+            selected.add(TaskField.TITLE);
+            selected.add(TaskField.DESCRIPTION);
+        }
+
+        // Scalar columns only: no entities, so nothing enters the persistence context
+        List<Selection<?>> columns = new ArrayList<>();
+        for (TaskField field : selected) {
+            if (field.isColumn()) {
+                columns.add(task.get(field.getName()).alias(field.getName()));
+            }
+        }
+        criteria.multiselect(columns);
+
+        criteria.where(ownedAndMatching(cb, task, userId, query)).orderBy(cb.asc(task.get("id")));
+
+        Map<Long, TaskResponse> responses = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(criteria).getResultList()) {
+            TaskResponse response = toResponse(row, selected);
+            if (query == null || TaskSearch.matches(response, query)) {
+                if (!fields.contains(TaskField.TITLE)) {
+                    response.setTitle(null);
+                }
+                if (!fields.contains(TaskField.DESCRIPTION)) {
+                    response.setDescription(null);
+                }
+                responses.put(response.getId(), response);
+            }
+        }
+
+        if (fields.contains(TaskField.TAGS) && !responses.isEmpty()) {
+            loadTags(responses, userId, query);
+        }
+        return new ArrayList<>(responses.values());
+    }
+
+    @Override
+    public List<TaskResponse> findResponsesByUser(Long userId, String query) {
+        // Constructor projection: rows go straight into responses, with no
+        // managed entities, snapshots or lazy collections in between
+        TypedQuery<TaskResponse> tasks = entityManager.createQuery(
+                "select new com.example.tasktracker.dto.TaskResponse("
+                        + "t.id, t.title, t.description, t.status, t.createdAt, t.updatedAt) "
+                        + "from Task t where " + (query == null ? OWNED : OWNED_AND_MATCHING)
+                        + " order by t.id", TaskResponse.class);
+
+        Map<Long, TaskResponse> responses = new LinkedHashMap<>();
+        for (TaskResponse response : bind(tasks, userId, query).getResultList()) {
+            if (query == null || TaskSearch.matches(response, query)) {
+                responses.put(response.getId(), response);
+            }
+        }
+        if (!responses.isEmpty()) {
+            loadTags(responses, userId, query);
+        }
+        return new ArrayList<>(responses.values());
+    }
+
+    @Override
+    public Page<TaskResponse> findResponsePageByUser(Long userId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> criteria = cb.createQuery(TaskResponse.class);
+        Root<Task> task = criteria.from(Task.class);
+        criteria.select(cb.construct(TaskResponse.class,
+                task.get("id"), task.get("title"), task.get("description"), task.get("status"),
+                task.get("createdAt"), task.get("updatedAt")));
+        criteria.where(ownedAndMatching(cb, task, userId, null))
+                .orderBy(QueryUtils.toOrders(pageable.getSort(), task, cb));
+
+        TypedQuery<TaskResponse> tasks = entityManager.createQuery(criteria);
+        if (pageable.isPaged()) {
+            tasks.setFirstResult((int) pageable.getOffset());
+            tasks.setMaxResults(pageable.getPageSize());
+        }
+
+        Map<Long, TaskResponse> responses = new LinkedHashMap<>();
+        for (TaskResponse response : tasks.getResultList()) {
+            responses.put(response.getId(), response);
+        }
+        if (!responses.isEmpty()) {
+            // Only this page's links: the ids are bounded by the page size
+            TypedQuery<Object[]> links = entityManager.createQuery(
+                    "select t.id, g.id from Task t join t.tags g where " + OWNED + " and t.id in :ids",
+                    Object[].class);
+            links.setParameter("ids", responses.keySet());
+            attachTags(responses, userId, bind(links, userId, null).getResultList());
+        }
+
+        return PageableExecutionUtils.getPage(new ArrayList<>(responses.values()), pageable,
+                () -> entityManager.createQuery("select count(t) from Task t where " + OWNED, Long.class)
+                        .setParameter("userId", userId)
+                        .getSingleResult());
+    }
+
+    @Override
+    public List<TaskResponse> findBoardByUser(Long userId) {
+        // Cards only: the description column is neither read nor decompressed
+        TypedQuery<TaskResponse> tasks = entityManager.createQuery(
+                "select new com.example.tasktracker.dto.TaskResponse("
+                        + "t.id, t.title, cast(null as String), t.status, t.createdAt, t.updatedAt) "
+                        + "from Task t where " + OWNED + " order by t.status, t.rank, t.id", TaskResponse.class);
+
+        Map<Long, TaskResponse> responses = new LinkedHashMap<>();
+        for (TaskResponse response : bind(tasks, userId, null).getResultList()) {
+            responses.put(response.getId(), response);
+        }
+        if (!responses.isEmpty()) {
+            loadTags(responses, userId, null);
+        }
+        return new ArrayList<>(responses.values());
+    }
+
+    /**
+     * Tasks of the user whose title or description contains the query,
+     * matching the derived ContainingIgnoreCase search including wildcard escaping
+     */
+    private static Predicate ownedAndMatching(CriteriaBuilder cb, Root<Task> task, Long userId, String query) {
+        Predicate owned = cb.equal(task.get("user").get("id"), userId);
+        if (query == null) {
+            return owned;
+        }
+        String pattern = TaskSearch.likePattern(query);
+        return cb.and(owned, cb.or(
+                cb.like(cb.lower(task.get("title")), pattern, '!'),
+                cb.like(cb.lower(task.get("description")), pattern, '!'),
+                cb.equal(cb.locate(task.get("description"), CompressedText.DEFLATE_PREFIX), 1)));
+    }
+
+    private static <T> TypedQuery<T> bind(TypedQuery<T> typedQuery, Long userId, String query) {
+        typedQuery.setParameter("userId", userId);
+        if (query != null) {
+            typedQuery.setParameter("pattern", TaskSearch.likePattern(query));
+            typedQuery.setParameter("compressed", CompressedText.DEFLATE_PREFIX);
+        }
+        return typedQuery;
+    }
+
+    private static TaskResponse toResponse(Tuple row, Set<TaskField> fields) {
+        TaskResponse response = new TaskResponse();
+        for (TaskField field : fields) {
+            switch (field) {
+                case ID -> response.setId(row.get("id", Long.class));
+                case TITLE -> response.setTitle(row.get("title", String.class));
+                case DESCRIPTION -> response.setDescription(row.get("description", String.class));
+                case STATUS -> response.setStatus(row.get("status", TaskStatus.class));
+                case CREATED_AT -> response.setCreatedAt(row.get("createdAt", LocalDateTime.class));
+                case UPDATED_AT -> response.setUpdatedAt(row.get("updatedAt", LocalDateTime.class));
+                case TAGS -> { }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Fill in tags for the loaded tasks. The user's tags are read once and the
+     * task/tag links as id pairs, so each tag is converted once and no id list
+     * has to be bound. The query strings are constant, so their plans stay cached.
+     */
+    private void loadTags(Map<Long, TaskResponse> responses, Long userId, String query) {
+        TypedQuery<Object[]> links = entityManager.createQuery(
+                "select t.id, g.id from Task t join t.tags g where "
+                        + (query == null ? OWNED : OWNED_AND_MATCHING), Object[].class);
+        attachTags(responses, userId, bind(links, userId, query).getResultList());
+    }
+
+    private void attachTags(Map<Long, TaskResponse> responses, Long userId, List<Object[]> links) {
+        Map<Long, TagResponse> tags = new HashMap<>();
+        for (TagResponse tag : entityManager.createQuery(
+                "select new com.example.tasktracker.dto.TagResponse(g.id, g.name, g.color, g.createdAt, g.updatedAt) "
+                        + "from Tag g where g.user.id = :userId", TagResponse.class)
+                .setParameter("userId", userId)
+                .getResultList()) {
+            tags.put(tag.getId(), tag);
+        }
+
+        for (Object[] link : links) {
+            TaskResponse response = responses.get((Long) link[0]);
+            TagResponse tag = tags.get((Long) link[1]);
+            if (response != null && tag != null) {
+                response.getTags().add(tag);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.dto.TaskResponse;
+
+import java.util.Locale;
+
+/**
+ * The case-insensitive title/description search shared by live and archived
+ * tasks. SQL matches a LIKE pattern escaped with {@code '!'}, but compressed
+ * descriptions cannot be matched in SQL, so they are only candidates and every
+ * result is checked again once decoded.
+ */
+final class TaskSearch {
+
+    private TaskSearch() {
+    }
+
+    /**
+     * LIKE pattern for the lowercased query, with wildcards escaped by {@code '!'}
+     */
+    static String likePattern(String query) {
+        String escaped = query.toLowerCase(Locale.ROOT)
+                .replace("!", "!!").replace("%", "!%").replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * The search condition on decoded values, for rows SQL could only match as candidates
+     */
+    static boolean matches(TaskResponse response, String query) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        return (response.getTitle() != null && response.getTitle().toLowerCase(Locale.ROOT).contains(needle))
+                || (response.getDescription() != null
+                        && response.getDescription().toLowerCase(Locale.ROOT).contains(needle));
+    }
+}
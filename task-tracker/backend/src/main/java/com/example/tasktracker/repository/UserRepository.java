@@ -1,17 +1,42 @@
 package com.example.tasktracker.repository;
 
 import com.example.tasktracker.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
     /**
-     * Find a user by their username.
+     * Find a user by their username. Cached, since every authenticated
+     * request resolves the current user through it.
      */
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = "lookup-queries")
+    })
     Optional<User> findByUsername(String username);
+
+    /**
+     * Replace a user's password hash, but only if it still equals the hash the
+     * caller read. Returns 0 if the password was changed in the meantime.
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :expectedHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("expectedHash") String expectedHash,
+                                  @Param("newHash") String newHash);
     
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.tasktracker.service;
 import com.example.tasktracker.dto.AuthResponse;
 import com.example.tasktracker.dto.LoginRequest;
 import com.example.tasktracker.entity.User;
+import com.example.tasktracker.exception.ServiceOverloadedException;
 import com.example.tasktracker.repository.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
@@ -16,6 +17,7 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
 import org.springframework.stereotype.Service;
 
@@ -31,6 +33,9 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordUpgradeService passwordUpgradeService;
+
     /**
      * User authentication
      */
@@ -40,8 +45,10 @@ public class AuthService {
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     loginRequest.getUsername(),
                     loginRequest.getPassword());
+            // IP клиента нужен для учета неудачных попыток входа (LoginThrottle)
+            authToken.setDetails(new WebAuthenticationDetails(request));
 
-            // Аутентификация пользователя
+            // Аутентификация пользователя (проверка хеша выполняется в пуле PasswordHashingService)
             Authentication authentication = authenticationManager.authenticate(authToken);
 
             // Создание security context
@@ -49,6 +56,9 @@ public class AuthService {
             securityContext.setAuthentication(authentication);
             SecurityContextHolder.setContext(securityContext);
 
+            // Перехеширование устаревшего хеша в фоне, пока известен исходный пароль
+            passwordUpgradeService.upgradeIfNeeded(authentication.getName(), loginRequest.getPassword());
+
             // Сохранение контекста в сессии
             HttpSession session = request.getSession(true);
             session.setAttribute(
@@ -71,6 +81,8 @@ public class AuthService {
             return new AuthResponse(false, "Invalid username or password", null, null, null);
         } catch (AuthenticationException e) {
             return new AuthResponse(false, "Authentication failed", null, null, null);
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             return new AuthResponse(false, "Internal server error", null, null, null);
         }
@@ -110,6 +122,8 @@ public class AuthService {
             } else {
                 return new AuthResponse(false, "User with these credentials already exists", null, null, null);
             }
+        } catch (ServiceOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             return new AuthResponse(false, "Registration failed" + e.getMessage(), null, null, null);
         }
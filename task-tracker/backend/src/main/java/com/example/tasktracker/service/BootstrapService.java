@@ -0,0 +1,88 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.dto.BootstrapResponse;
+import com.example.tasktracker.dto.ProfileResponse;
+import com.example.tasktracker.dto.TagResponse;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.entity.TaskStatus;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the SPA's initial payload. The four lookups are independent, so
+ * they run concurrently on virtual threads and the response takes as long as
+ * the slowest one rather than the sum.
+ */
+@Service
+public class BootstrapService {
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private TaskService taskService;
+
+    // Each lookup runs with the caller's security context, which replica routing
+    // needs to keep a user's reads on the primary right after their writes
+    private final ExecutorService executor =
+            new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+
+    /**
+     * Load profile, tags, the first page of tasks and status counts for a user
+     */
+    public BootstrapResponse getBootstrap(Long userId, String username, String role, int taskPageSize) {
+        CompletableFuture<ProfileResponse> profile = fork(() -> profileService.getProfile(userId));
+        CompletableFuture<List<TagResponse>> tags = fork(() -> tagService.getUserTags(userId));
+        CompletableFuture<Page<TaskResponse>> tasks = fork(() ->
+                taskService.getTaskPage(userId, PageRequest.of(0, taskPageSize, Sort.by("id"))));
+        CompletableFuture<Map<TaskStatus, Long>> statusCounts = fork(() -> taskService.getStatusCounts(userId));
+
+        try {
+            CompletableFuture.allOf(profile, tags, tasks, statusCounts).join();
+        } catch (CompletionException e) {
+            // One lookup failed: stop waiting on the rest and surface the original error
+            for (CompletableFuture<?> future : List.of(profile, tags, tasks, statusCounts)) {
+                future.cancel(true);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        BootstrapResponse response = new BootstrapResponse();
+        response.setUsername(username);
+        response.setRole(role);
+        response.setProfile(profile.join());
+        response.setTags(tags.join());
+        response.setTasks(tasks.join().getContent());
+        response.setTotalTasks(tasks.join().getTotalElements());
+        response.setStatusCounts(statusCounts.join());
+        return response;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> fork(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, executor);
+    }
+}
@@ -1,8 +1,14 @@
 package com.example.tasktracker.service;
 
+import com.example.tasktracker.cache.CacheInvalidationBus;
+import com.example.tasktracker.cache.CacheNames;
+import com.example.tasktracker.cache.InvalidationEntity;
 import com.example.tasktracker.entity.User;
 import com.example.tasktracker.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -15,11 +21,61 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private Cache userDetailsCache;
+
+    @PostConstruct
+    void initCache() {
+        userDetailsCache = cacheManager.getCache(CacheNames.USER_DETAILS);
+        // Messages carry the user id and the cache is keyed by username: evict
+        // just that user's entry, or everything if the user is already gone
+        cacheInvalidationBus.addRemoteListener(message -> {
+            if (message.entity() == InvalidationEntity.USER) {
+                userRepository.findById(message.userId()).ifPresentOrElse(
+                        user -> userDetailsCache.evict(user.getUsername()),
+                        userDetailsCache::clear);
+            }
+        });
+    }
+
     /**
      * Load user by username for authentication
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        // Loaded atomically under the entry's lock: an eviction during the load
+        // waits for it and then removes the value, instead of being overwritten by it
+        UserPrincipal cached;
+        try {
+            cached = userDetailsCache.get(username, () -> loadFromDatabase(username));
+        } catch (Cache.ValueRetrievalException e) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof UsernameNotFoundException notFound) {
+                    throw notFound;
+                }
+            }
+            throw e;
+        }
+        // Hand out a copy: authentication erases the password on the returned instance
+        return UserPrincipal.of(cached.getId(), cached);
+    }
+
+    /**
+     * Evict a user's cached details on every node. Must be called whenever
+     * credentials or account flags change, so the change applies to the next
+     * login or remember-me auto-login straight away.
+     */
+    public void evictUser(User user) {
+        userDetailsCache.evict(user.getUsername());
+        cacheInvalidationBus.invalidate(user.getId(), InvalidationEntity.USER);
+    }
+
+    private UserPrincipal loadFromDatabase(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
@@ -33,6 +89,6 @@ public class CustomUserDetailsService implements UserDetailsService {
         builder.credentialsExpired(!user.isCredentialsNonExpired());
         builder.disabled(!user.isEnabled());
 
-        return builder.build();
+        return UserPrincipal.of(user.getId(), builder.build());
     }
-}
\ No newline at end of file
+}
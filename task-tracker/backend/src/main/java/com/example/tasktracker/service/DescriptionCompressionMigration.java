@@ -0,0 +1,91 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.entity.CompressedText;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Compresses task descriptions written before compression was introduced,
+ * or while the threshold was higher. Works in small id-ordered batches and
+ * only rewrites a row if it has not been updated since it was read, so it
+ * can run next to normal traffic and be stopped and resumed at any time.
+ */
+@Service
+public class DescriptionCompressionMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(DescriptionCompressionMigration.class);
+
+    private static final String SELECT_BATCH_SQL =
+            "select id, user_id, description, updated_at from tasks "
+                    + "where id > ? and length(description) >= ? and substring(description, 1, 1) <> ? "
+                    + "order by id limit ?";
+
+    private static final String UPDATE_SQL =
+            "update tasks set description = ? where id = ? and user_id = ? and updated_at = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.tasks.description-compression.threshold:1024}")
+    private int threshold;
+
+    @Value("${app.tasks.description-compression.migration.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Periodic run; rows written through JPA are already compressed, so after
+     * the first pass this only finds rows changed behind the application's back
+     */
+    @Scheduled(initialDelayString = "${app.tasks.description-compression.migration.initial-delay:1m}",
+            fixedDelayString = "${app.tasks.description-compression.migration.interval:6h}")
+    public void run() {
+        int migrated = migrate();
+        if (migrated > 0) {
+            logger.info("Compressed {} task descriptions", migrated);
+        }
+    }
+
+    /**
+     * Compress all eligible rows, returning how many were rewritten
+     */
+    public int migrate() {
+        long lastId = 0;
+        int migrated = 0;
+        String marker = String.valueOf(CompressedText.MARKER);
+        while (true) {
+            List<Row> batch = jdbcTemplate.query(SELECT_BATCH_SQL,
+                    (rs, rowNum) -> new Row(rs.getLong("id"), rs.getLong("user_id"), rs.getString("description"),
+                            rs.getObject("updated_at", LocalDateTime.class)),
+                    lastId, threshold, marker, batchSize);
+            for (Row row : batch) {
+                lastId = row.id();
+                String encoded = CompressedText.encode(row.description(), threshold);
+                // Incompressible text stays as it is and is simply skipped next time round
+                if (CompressedText.isCompressed(encoded) && row.updatedAt() != null
+                        && jdbcTemplate.update(UPDATE_SQL, encoded, row.id(), row.userId(), row.updatedAt()) == 1) {
+                    migrated++;
+                }
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        meterRegistry.counter("tasks.description.compression.migrated").increment(migrated);
+        return migrated;
+    }
+
+    private record Row(long id, long userId, String description, LocalDateTime updatedAt) {
+    }
+}
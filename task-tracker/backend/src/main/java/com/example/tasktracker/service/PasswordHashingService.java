@@ -0,0 +1,189 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a small dedicated pool, so a
+ * login or registration burst cannot occupy every Tomcat thread and core.
+ * When the queue is full, work is rejected with {@link ServiceOverloadedException}
+ * rather than left to pile up. The pool stays on platform threads even in
+ * virtual-thread mode: hashing is CPU-bound and would only occupy carrier threads.
+ */
+@Service
+public class PasswordHashingService {
+
+    public static final String OP_ENCODE = "encode";
+    public static final String OP_VERIFY = "verify";
+    public static final String OP_UPGRADE = "upgrade";
+
+    private static final ThreadLocal<Boolean> ON_POOL_THREAD = ThreadLocal.withInitial(() -> false);
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final long retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+
+    public PasswordHashingService(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.hashing.timeout:10s}") Duration timeout,
+            @Value("${app.security.hashing.retry-after:2s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("auth.password.hashing.queue.size", executor, e -> e.getQueue().size())
+                .description("Password hashing jobs waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing jobs currently running")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.pool.size", executor, ThreadPoolExecutor::getMaximumPoolSize)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a hashing operation on the pool and wait for its result.
+     *
+     * @param op metric tag, {@link #OP_ENCODE} or {@link #OP_VERIFY}
+     * @throws ServiceOverloadedException if the queue is full or the job timed out
+     */
+    public <T> T execute(String op, Callable<T> job) {
+        if (ON_POOL_THREAD.get()) {
+            // Already on a hashing thread (e.g. a background rehash): queueing would only add a hop
+            try {
+                return job.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Password hashing failed", e);
+            }
+        }
+
+        Future<T> future;
+        try {
+            future = executor.submit(timed(op, job));
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("auth.password.hashing.rejected", "op", op, "reason", "queue_full").increment();
+            throw new ServiceOverloadedException("Too many concurrent authentication requests", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("auth.password.hashing.rejected", "op", op, "reason", "timeout").increment();
+            throw new ServiceOverloadedException("Authentication timed out, please retry", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+
+    /**
+     * Queue a best-effort background job without waiting for it.
+     *
+     * @return false if the queue is full and the job was dropped
+     */
+    public boolean submit(String op, Runnable job) {
+        try {
+            executor.execute(() -> {
+                try {
+                    timed(op, () -> {
+                        job.run();
+                        return null;
+                    }).call();
+                } catch (Exception e) {
+                    meterRegistry.counter("auth.password.hashing.failed", "op", op).increment();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("auth.password.hashing.rejected", "op", op, "reason", "queue_full").increment();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> Callable<T> timed(String op, Callable<T> job) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            queueTimer(op).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                return job.call();
+            } finally {
+                executionTimer(op).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    private Timer queueTimer(String op) {
+        return Timer.builder("auth.password.hashing.queue.wait")
+                .description("Time a hashing job waited for a pool thread")
+                .tag("op", op)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Timer executionTimer(String op) {
+        return Timer.builder("auth.password.hashing.duration")
+                .description("Time spent hashing or verifying a password")
+                .tag("op", op)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(() -> {
+                ON_POOL_THREAD.set(true);
+                runnable.run();
+            }, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
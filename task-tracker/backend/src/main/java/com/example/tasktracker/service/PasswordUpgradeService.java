@@ -0,0 +1,68 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rehashes a password after a successful login when its stored hash uses an
+ * old algorithm or a lower cost than currently configured. The raw password
+ * is only available at login, so this is the one place the upgrade can happen.
+ */
+@Service
+public class PasswordUpgradeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordUpgradeService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Schedule a background rehash if the user's stored hash is outdated.
+     * Never delays or fails the login itself.
+     */
+    public void upgradeIfNeeded(String username, String rawPassword) {
+        User user = userRepository.findByUsername(username).orElse(null);
+        if (user == null || !passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+
+        String currentHash = user.getPassword();
+        boolean queued = passwordHashingService.submit(PasswordHashingService.OP_UPGRADE,
+                () -> rehash(user, currentHash, rawPassword));
+        if (!queued) {
+            // The pool is busy with logins; the next login will try again
+            meterRegistry.counter("auth.password.upgrades", "result", "deferred").increment();
+        }
+    }
+
+    private void rehash(User user, String currentHash, String rawPassword) {
+        String newHash = passwordEncoder.encode(rawPassword);
+        // Compare-and-set: skip if the password changed while this job was queued
+        int updated = userRepository.updatePasswordIfUnchanged(user.getId(), currentHash, newHash);
+        if (updated == 1) {
+            customUserDetailsService.evictUser(user);
+            meterRegistry.counter("auth.password.upgrades", "result", "upgraded").increment();
+            logger.debug("Upgraded password hash for user {}", user.getId());
+        } else {
+            meterRegistry.counter("auth.password.upgrades", "result", "stale").increment();
+        }
+    }
+}
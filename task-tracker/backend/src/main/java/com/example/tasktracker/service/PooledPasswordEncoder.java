@@ -0,0 +1,34 @@
+package com.example.tasktracker.service;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Password encoder that hands the expensive encode and matches calls to
+ * {@link PasswordHashingService}. The user lookup stays on the request thread,
+ * so only the CPU-bound part leaves it.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingService hashingService;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, PasswordHashingService hashingService) {
+        this.delegate = delegate;
+        this.hashingService = hashingService;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hashingService.execute(PasswordHashingService.OP_ENCODE, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hashingService.execute(PasswordHashingService.OP_VERIFY, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
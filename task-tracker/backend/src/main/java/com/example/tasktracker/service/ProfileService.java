@@ -1,5 +1,8 @@
 package com.example.tasktracker.service;
 
+import com.example.tasktracker.cache.CacheInvalidationBus;
+import com.example.tasktracker.cache.CacheNames;
+import com.example.tasktracker.cache.InvalidationEntity;
 import com.example.tasktracker.dto.ProfileRequest;
 import com.example.tasktracker.dto.ProfileResponse;
 import com.example.tasktracker.entity.Profile;
@@ -8,8 +11,10 @@ import com.example.tasktracker.exception.UserNotFoundException;
 import com.example.tasktracker.repository.ProfileRepository;
 import com.example.tasktracker.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class ProfileService {
@@ -20,9 +25,14 @@ public class ProfileService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     /**
      * Get user profile by user ID
      */
+    @Cacheable(cacheNames = CacheNames.USER_PROFILES, key = "#userId")
+    @Transactional(readOnly = true)
     public ProfileResponse getProfile(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
@@ -34,7 +44,8 @@ public class ProfileService {
     }
 
     /**
-     * Update user profile
+     * Update user profile. Left without a surrounding transaction so the
+     * repository commits inside the try and a duplicate email is reported as such.
      */
     public ProfileResponse updateProfile(ProfileRequest profileRequest, Long userId) {
         User user = userRepository.findById(userId)
@@ -51,6 +62,7 @@ public class ProfileService {
             profile.setUser(user);
             
             Profile savedProfile = profileRepository.save(profile);
+            cacheInvalidationBus.invalidate(userId, InvalidationEntity.PROFILE);
             return convertToResponse(savedProfile, user);
         } catch (DataIntegrityViolationException e) {
             // Handle email uniqueness constraint violation
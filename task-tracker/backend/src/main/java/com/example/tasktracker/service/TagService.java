@@ -1,19 +1,24 @@
 package com.example.tasktracker.service;
 
+import com.example.tasktracker.cache.CacheInvalidationBus;
+import com.example.tasktracker.cache.CacheNames;
+import com.example.tasktracker.cache.InvalidationEntity;
 import com.example.tasktracker.dto.TagRequest;
 import com.example.tasktracker.dto.TagResponse;
 import com.example.tasktracker.entity.Tag;
-import com.example.tasktracker.entity.Task;
 import com.example.tasktracker.entity.User;
 import com.example.tasktracker.exception.UserNotFoundException;
 import com.example.tasktracker.repository.TagRepository;
-import com.example.tasktracker.repository.TaskRepository;
 import com.example.tasktracker.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -28,11 +33,19 @@ public class TagService {
     private UserRepository userRepository;
 
     @Autowired
-    private TaskRepository taskRepository;
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private TombstonePurger tombstonePurger;
+
+    @Value("${app.deletion.undo-window:10m}")
+    private Duration undoWindow;
 
     /**
      * Get all tags for a user
      */
+    @Cacheable(cacheNames = CacheNames.USER_TAGS, key = "#userId")
+    @Transactional(readOnly = true)
     public List<TagResponse> getUserTags(Long userId) {
         User user = getUserById(userId);
         List<Tag> tags = tagRepository.findByUserOrderByNameAsc(user);
@@ -51,6 +64,7 @@ public class TagService {
         if (tagRepository.existsByNameAndUser(tagRequest.getName(), user)) {
             throw new IllegalArgumentException("Tag with name '" + tagRequest.getName() + "' already exists");
         }
+        purgeDeletedTagNamed(tagRequest.getName().trim(), userId);
 
         try {
             Tag tag = new Tag();
@@ -58,7 +72,9 @@ public class TagService {
             tag.setColor(tagRequest.getColor() != null ? tagRequest.getColor() : "#3B82F6");
             tag.setUser(user);
 
-            Tag savedTag = tagRepository.save(tag);
+            // Flushed inside the try so a duplicate name is caught here, not at commit
+            Tag savedTag = tagRepository.saveAndFlush(tag);
+            cacheInvalidationBus.invalidate(userId, InvalidationEntity.TAGS);
             return convertToResponse(savedTag);
         } catch (DataIntegrityViolationException e) {
             // Fallback for race condition - handle constraint violation
@@ -77,6 +93,7 @@ public class TagService {
             if (tagRepository.existsByNameAndUser(tagRequest.getName().trim(), tag.getUser())) {
                 throw new IllegalArgumentException("Tag with name '" + tagRequest.getName() + "' already exists");
             }
+            purgeDeletedTagNamed(tagRequest.getName().trim(), userId);
         }
 
         try {
@@ -85,7 +102,8 @@ public class TagService {
                 tag.setColor(tagRequest.getColor());
             }
 
-            Tag updatedTag = tagRepository.save(tag);
+            Tag updatedTag = tagRepository.saveAndFlush(tag);
+            cacheInvalidationBus.invalidate(userId, InvalidationEntity.TAGS);
             return convertToResponse(updatedTag);
         } catch (DataIntegrityViolationException e) {
             // Fallback for race condition - handle constraint violation
@@ -94,29 +112,32 @@ public class TagService {
     }
 
     /**
-     * Delete a tag
+     * Delete a tag. It only becomes a tombstone, hidden from tasks but still
+     * linked to them, so it can be restored within the undo window; the purger
+     * removes the tag and its links later.
      */
     public void deleteTag(Long tagId, Long userId) {
         Tag tag = getTagByIdAndUser(tagId, userId);
-        
-        // First, remove this tag from all tasks that use it
-        User user = getUserById(userId);
-        List<Task> userTasks = taskRepository.findByUser(user);
-        
-        for (Task task : userTasks) {
-            if (task.getTags().contains(tag)) {
-                task.removeTag(tag);
-                taskRepository.save(task);
-            }
+        tag.setDeletedAt(LocalDateTime.now());
+        cacheInvalidationBus.invalidate(userId, InvalidationEntity.TAGS);
+    }
+
+    /**
+     * Undo the deletion of a tag, if it was deleted within the undo window
+     */
+    public TagResponse restoreTag(Long tagId, Long userId) {
+        getUserById(userId);
+        if (tagRepository.restoreDeletedByIdAndUserId(tagId, userId, LocalDateTime.now().minus(undoWindow)) == 0) {
+            throw new IllegalArgumentException("No tag deleted within the undo window with id: " + tagId);
         }
-        
-        // Now delete the tag
-        tagRepository.delete(tag);
+        cacheInvalidationBus.invalidate(userId, InvalidationEntity.TAGS);
+        return getTag(tagId, userId);
     }
 
     /**
      * Get a specific tag by ID for a user
      */
+    @Transactional(readOnly = true)
     public TagResponse getTag(Long tagId, Long userId) {
         Tag tag = getTagByIdAndUser(tagId, userId);
         return convertToResponse(tag);
@@ -125,6 +146,7 @@ public class TagService {
     /**
      * Search tags by name for a user
      */
+    @Transactional(readOnly = true)
     public List<TagResponse> searchTags(String query, Long userId) {
         List<Tag> tags = tagRepository.findByUserIdAndNameContainingIgnoreCase(userId, query);
         return tags.stream()
@@ -142,6 +164,7 @@ public class TagService {
     /**
      * Get tag count for a user
      */
+    @Transactional(readOnly = true)
     public long getTagCount(Long userId) {
         User user = getUserById(userId);
         return tagRepository.countByUser(user);
@@ -155,11 +178,20 @@ public class TagService {
     }
 
     private Tag getTagByIdAndUser(Long tagId, Long userId) {
+        // The second-level cache may still hold a deleted tag
         return tagRepository.findById(tagId)
-                .filter(tag -> tag.getUser().getId().equals(userId))
+                .filter(tag -> tag.getDeletedAt() == null && tag.getUser().getId().equals(userId))
                 .orElseThrow(() -> new IllegalArgumentException("Tag not found with id: " + tagId));
     }
 
+    /**
+     * A deleted tag keeps its name in the unique constraint until purged, so
+     * reusing the name purges it now and gives up its undo
+     */
+    private void purgeDeletedTagNamed(String name, Long userId) {
+        tagRepository.findDeletedIdByUserIdAndName(userId, name).ifPresent(tombstonePurger::purgeTag);
+    }
+
     private TagResponse convertToResponse(Tag tag) {
         return new TagResponse(
                 tag.getId(),
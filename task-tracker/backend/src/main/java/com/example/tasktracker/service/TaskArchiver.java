@@ -0,0 +1,137 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.cache.CacheInvalidationBus;
+import com.example.tasktracker.cache.InvalidationEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves DONE tasks that have not changed for the configured age, with their
+ * tag links, into tasks_archive and task_tags_archive. Each batch is locked,
+ * copied and deleted in its own short transaction, with a pause in between,
+ * so the job can run next to normal traffic. Every statement names the
+ * task's owner, so it stays within one partition of the task tables.
+ */
+@Service
+public class TaskArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private static final String SELECT_BATCH_SQL =
+            "select id, user_id from tasks where status = 'DONE' and updated_at < ? and deleted_at is null "
+                    + "order by id limit ? for update";
+
+    private static final String ARCHIVE_TASK_SQL =
+            "insert into tasks_archive (id, user_id, title, description, status, created_at, updated_at, archived_at) "
+                    + "select id, user_id, title, description, status, created_at, updated_at, ? "
+                    + "from tasks where id = ? and user_id = ?";
+
+    private static final String ARCHIVE_LINKS_SQL =
+            "insert into task_tags_archive (user_id, task_id, tag_id) "
+                    + "select user_id, task_id, tag_id from task_tags where user_id = ? and task_id = ?";
+
+    private static final String DELETE_LINKS_SQL = "delete from task_tags where user_id = ? and task_id = ?";
+
+    private static final String DELETE_TASK_SQL = "delete from tasks where id = ? and user_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.tasks.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.tasks.archive.after:365d}")
+    private Duration after;
+
+    @Value("${app.tasks.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.tasks.archive.pause:500ms}")
+    private Duration pause;
+
+    @Scheduled(initialDelayString = "${app.tasks.archive.initial-delay:5m}",
+            fixedDelayString = "${app.tasks.archive.interval:1h}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        int archived = archive();
+        if (archived > 0) {
+            logger.info("Archived {} completed tasks", archived);
+        }
+    }
+
+    /**
+     * Archive every eligible task, returning how many were moved. Stops early,
+     * keeping what has been moved so far, if the thread is interrupted.
+     */
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(after);
+        int archived = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(pause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        meterRegistry.counter("tasks.archived").increment(archived);
+        return archived;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        // Locked until the batch commits, so a task cannot be edited halfway through its move
+        List<Object[]> keys = jdbcTemplate.query(SELECT_BATCH_SQL,
+                (rs, rowNum) -> new Object[]{rs.getLong("id"), rs.getLong("user_id")},
+                Timestamp.valueOf(cutoff), batchSize);
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp archivedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> archiveArgs = new ArrayList<>();
+        List<Object[]> linkArgs = new ArrayList<>();
+        for (Object[] key : keys) {
+            archiveArgs.add(new Object[]{archivedAt, key[0], key[1]});
+            linkArgs.add(new Object[]{key[1], key[0]});
+        }
+        jdbcTemplate.batchUpdate(ARCHIVE_TASK_SQL, archiveArgs);
+        jdbcTemplate.batchUpdate(ARCHIVE_LINKS_SQL, linkArgs);
+        jdbcTemplate.batchUpdate(DELETE_LINKS_SQL, linkArgs);
+        jdbcTemplate.batchUpdate(DELETE_TASK_SQL, keys);
+
+        // Sent after commit; other nodes drop cached tag sets of the moved tasks
+        for (Object[] key : keys) {
+            cacheInvalidationBus.invalidate((Long) key[1], InvalidationEntity.TASKS, (Long) key[0]);
+        }
+        return keys.size();
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.entity.TaskRank;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites the ranks of board columns whose ranks have grown long. Repeatedly
+ * moving tasks into the same gap adds a digit each time; such a column gets
+ * short, evenly spaced ranks again in its current order. Each column is
+ * locked and rewritten in its own transaction, with a pause in between.
+ */
+@Service
+public class TaskRankRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskRankRebalancer.class);
+
+    private static final String SELECT_COLUMNS_SQL =
+            "select distinct user_id, status from tasks where length(rank) > ? and deleted_at is null";
+
+    // Locked so a concurrent move cannot land between two ranks that are about to change
+    private static final String SELECT_COLUMN_SQL =
+            "select id from tasks where user_id = ? and status = ? and deleted_at is null "
+                    + "order by rank, id for update";
+
+    private static final String UPDATE_RANK_SQL = "update tasks set rank = ? where id = ? and user_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.tasks.rank.rebalance.max-length:12}")
+    private int maxLength;
+
+    @Value("${app.tasks.rank.rebalance.pause:200ms}")
+    private Duration pause;
+
+    @Scheduled(initialDelayString = "${app.tasks.rank.rebalance.initial-delay:3m}",
+            fixedDelayString = "${app.tasks.rank.rebalance.interval:1h}")
+    public void run() {
+        int rebalanced = rebalance();
+        if (rebalanced > 0) {
+            logger.info("Rebalanced ranks of {} board columns", rebalanced);
+        }
+    }
+
+    /**
+     * Rebalance every column with a rank longer than the configured length,
+     * returning how many were rewritten. Stops early if the thread is interrupted.
+     */
+    public int rebalance() {
+        List<Object[]> columns = jdbcTemplate.query(SELECT_COLUMNS_SQL,
+                (rs, rowNum) -> new Object[]{rs.getLong("user_id"), rs.getString("status")}, maxLength);
+        int rebalanced = 0;
+        for (Object[] column : columns) {
+            if (rebalanced > 0) {
+                try {
+                    Thread.sleep(pause.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> rebalanceColumn((Long) column[0], (String) column[1]));
+            rebalanced++;
+        }
+        meterRegistry.counter("tasks.ranks.rebalanced").increment(rebalanced);
+        return rebalanced;
+    }
+
+    private void rebalanceColumn(Long userId, String status) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_COLUMN_SQL, Long.class, userId, status);
+        List<String> ranks = TaskRank.spread(ids.size());
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            args.add(new Object[]{ranks.get(i), ids.get(i), userId});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_RANK_SQL, args);
+    }
+}
@@ -1,19 +1,41 @@
 package com.example.tasktracker.service;
 
+import com.example.tasktracker.cache.CacheInvalidationBus;
+import com.example.tasktracker.cache.InvalidationEntity;
+import com.example.tasktracker.dto.NormalizedTaskListResponse;
+import com.example.tasktracker.dto.NormalizedTaskResponse;
 import com.example.tasktracker.dto.TagResponse;
+import com.example.tasktracker.dto.TaskField;
+import com.example.tasktracker.dto.TaskMoveRequest;
 import com.example.tasktracker.dto.TaskRequest;
 import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.dto.TaskStatusCount;
+import com.example.tasktracker.dto.TaskTombstone;
 import com.example.tasktracker.entity.Tag;
 import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.TaskRank;
+import com.example.tasktracker.entity.TaskStatus;
 import com.example.tasktracker.entity.User;
 import com.example.tasktracker.exception.UserNotFoundException;
 import com.example.tasktracker.exception.TaskNotFoundException;
+import com.example.tasktracker.repository.TaskArchiveRepository;
 import com.example.tasktracker.repository.TaskRepository;
 import com.example.tasktracker.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,36 +44,137 @@ public class TaskService {
     @Autowired
     private TaskRepository taskRepository;
 
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private TagService tagService;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${app.deletion.undo-window:10m}")
+    private Duration undoWindow;
+
     /**
-     * Get all tasks for a specific user
+     * Get all tasks for a specific user, read as projections rather than entities
      */
+    @Transactional(readOnly = true)
     public List<TaskResponse> getAllTasks(Long userId) {
-        User user = userRepository.findById(userId)
+        return getAllTasks(userId, false);
+    }
+
+    /**
+     * Get all tasks for a specific user, optionally including archived ones
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(Long userId, boolean includeArchived) {
+        userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-        return taskRepository.findByUser(user).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return withArchived(taskRepository.findResponsesByUser(userId, null), userId, null, includeArchived);
     }
 
     /**
-     * Get a task by ID for a specific user
+     * Get only the selected fields of all tasks for a specific user
      */
-    public TaskResponse getTaskById(Long taskId, Long userId) {
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(Long userId, Set<TaskField> fields) {
+        return getAllTasks(userId, fields, false);
+    }
+
+    /**
+     * Get only the selected fields of all tasks for a specific user, optionally
+     * including archived ones. Archived tasks come complete; the caller's field
+     * filter applies to them as to the rest.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getAllTasks(Long userId, Set<TaskField> fields, boolean includeArchived) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        return withArchived(taskRepository.findFieldsByUser(userId, null, fields), userId, null, includeArchived);
+    }
+
+    /**
+     * Get all tasks for a specific user with their tags listed once
+     */
+    @Transactional(readOnly = true)
+    public NormalizedTaskListResponse getAllTasksNormalized(Long userId) {
+        return getAllTasksNormalized(userId, false);
+    }
 
-        // Ensure the task belongs to the user
-        if (!task.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Task does not belong to the user");
+    /**
+     * Get all tasks for a specific user with their tags listed once, optionally
+     * including archived ones
+     */
+    @Transactional(readOnly = true)
+    public NormalizedTaskListResponse getAllTasksNormalized(Long userId, boolean includeArchived) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        return normalize(withArchived(taskRepository.findResponsesByUser(userId, null), userId, null,
+                includeArchived));
+    }
+
+    /**
+     * Get one page of tasks for a specific user. Runs in its own read-only
+     * transaction so tags can be loaded when called off the request thread.
+     */
+    @Transactional(readOnly = true)
+    public Page<TaskResponse> getTaskPage(Long userId, Pageable pageable) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        return taskRepository.findResponsePageByUser(userId, pageable);
+    }
+
+    /**
+     * Count a user's tasks per status; statuses without tasks count as zero
+     */
+    @Transactional(readOnly = true)
+    public Map<TaskStatus, Long> getStatusCounts(Long userId) {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            counts.put(status, 0L);
+        }
+        for (TaskStatusCount count : taskRepository.countByStatusForUser(userId)) {
+            if (count.getStatus() != null) {
+                counts.put(count.getStatus(), count.getCount());
+            }
         }
+        return counts;
+    }
+
+    /**
+     * Get a user's tasks grouped by status, each column in board order. Every
+     * status is present; the rows already arrive in that order from the index.
+     * Descriptions are left out, as on a board card.
+     */
+    @Transactional(readOnly = true)
+    public Map<TaskStatus, List<TaskResponse>> getBoard(Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        Map<TaskStatus, List<TaskResponse>> board = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            board.put(status, new ArrayList<>());
+        }
+        for (TaskResponse task : taskRepository.findBoardByUser(userId)) {
+            board.get(task.getStatus()).add(task);
+        }
+        return board;
+    }
+
+    /**
+     * Get a task by ID for a specific user. The response is built inside the
+     * transaction from one fetch of the task and its tags.
+     */
+    @Transactional(readOnly = true)
+    public TaskResponse getTaskById(Long taskId, Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        // Looked up within the owner's tasks: another user's task is simply not found
+        Task task = taskRepository.findWithTagsByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
 
         return convertToResponse(task);
     }
@@ -59,6 +182,7 @@ public class TaskService {
     /**
      * Create a new task for a specific user
      */
+    @Transactional
     public TaskResponse createTask(TaskRequest taskRequest, Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
@@ -67,6 +191,7 @@ public class TaskService {
         task.setTitle(taskRequest.getTitle());
         task.setDescription(taskRequest.getDescription());
         task.setStatus(taskRequest.getStatus());
+        task.setRank(TaskRank.between(taskRepository.findLastRank(userId, task.getStatus()), null));
         task.setUser(user);
 
         // Handle tags if provided
@@ -75,26 +200,30 @@ public class TaskService {
             task.getTags().addAll(tags);
         }
 
-        Task savedTask = taskRepository.save(task);
+        // Flushed here: ids no longer force an immediate insert, and the response
+        // needs the timestamps set on insert
+        Task savedTask = taskRepository.saveAndFlush(task);
+        cacheInvalidationBus.invalidate(userId, InvalidationEntity.TASKS, savedTask.getId());
         return convertToResponse(savedTask);
     }
 
     /**
      * Update a task by ID for a specific user
      */
+    @Transactional
     public TaskResponse updateTask(Long taskId, TaskRequest taskRequest, Long userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-        Task task = taskRepository.findById(taskId)
+        // Looked up within the owner's tasks: another user's task is simply not found
+        Task task = taskRepository.findWithTagsByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
 
-        // Ensure the task belongs to the user
-        if (!task.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Task does not belong to the user");
-        }
-
         task.setTitle(taskRequest.getTitle());
         task.setDescription(taskRequest.getDescription());
+        if (task.getStatus() != taskRequest.getStatus()) {
+            // A task changing column goes to the end of its new one
+            task.setRank(TaskRank.between(taskRepository.findLastRank(userId, taskRequest.getStatus()), null));
+        }
         task.setStatus(taskRequest.getStatus());
 
         // Handle tags update
@@ -104,45 +233,176 @@ public class TaskService {
             task.getTags().addAll(tags);
         }
 
-        Task updatedTask = taskRepository.save(task);
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        cacheInvalidationBus.invalidate(userId, InvalidationEntity.TASKS, taskId);
         return convertToResponse(updatedTask);
     }
 
     /**
-     * Delete a task by ID for a specific user
+     * Move a task to a place in a board column: after one task, before one, or
+     * between two, or to the end with no neighbour given. Only the moved task's
+     * rank (and status) changes, so this writes exactly one row.
+     */
+    @Transactional
+    public TaskResponse moveTask(Long taskId, TaskMoveRequest moveRequest, Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        Task task = taskRepository.findByIdAndUserId(taskId, userId)
+                .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
+        TaskStatus status = moveRequest.getStatus();
+
+        String lower;
+        String upper;
+        if (moveRequest.getAfterTaskId() == null && moveRequest.getBeforeTaskId() == null) {
+            // If the task is already last, it simply stays last
+            lower = taskRepository.findLastRank(userId, status);
+            upper = null;
+        } else if (moveRequest.getBeforeTaskId() == null) {
+            lower = neighbourRank(moveRequest.getAfterTaskId(), task, status, userId);
+            upper = taskRepository.findRankAfter(userId, status, lower, taskId);
+        } else if (moveRequest.getAfterTaskId() == null) {
+            upper = neighbourRank(moveRequest.getBeforeTaskId(), task, status, userId);
+            lower = taskRepository.findRankBefore(userId, status, upper, taskId);
+        } else {
+            lower = neighbourRank(moveRequest.getAfterTaskId(), task, status, userId);
+            upper = neighbourRank(moveRequest.getBeforeTaskId(), task, status, userId);
+        }
+
+        task.setRank(TaskRank.between(lower, upper));
+        task.setStatus(status);
+        Task movedTask = taskRepository.saveAndFlush(task);
+        cacheInvalidationBus.invalidate(userId, InvalidationEntity.TASKS, taskId);
+        return convertToResponse(movedTask);
+    }
+
+    /**
+     * Delete a task by ID for a specific user. The task only becomes a
+     * tombstone: it can be restored within the undo window, and its row and
+     * tag links are removed later by the purger.
      */
+    @Transactional
     public void deleteTask(Long taskId, Long userId) {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
-        Task task = taskRepository.findById(taskId)
+        Task task = taskRepository.findByIdAndUserId(taskId, userId)
                 .orElseThrow(() -> new TaskNotFoundException("Task not found with id: " + taskId));
 
-        // Ensure the task belongs to the user
-        if (!task.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Task does not belong to the user");
+        task.setDeletedAt(LocalDateTime.now());
+        cacheInvalidationBus.invalidate(userId, InvalidationEntity.TASKS, taskId);
+    }
+
+    /**
+     * Undo the deletion of a task, if it was deleted within the undo window
+     */
+    @Transactional
+    public TaskResponse restoreTask(Long taskId, Long userId) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        if (taskRepository.restoreDeletedByIdAndUserId(taskId, userId, LocalDateTime.now().minus(undoWindow)) == 0) {
+            throw new TaskNotFoundException("No task deleted within the undo window with id: " + taskId);
         }
+        cacheInvalidationBus.invalidate(userId, InvalidationEntity.TASKS, taskId);
+        return getTaskById(taskId, userId);
+    }
 
-        taskRepository.delete(task);
+    /**
+     * Ids of the user's tasks deleted after the given time, so sync clients can
+     * drop them. Tombstones are kept for the configured retention period only.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskTombstone> getDeletedTasks(Long userId, LocalDateTime since) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        return taskRepository.findTombstonesByUserIdSince(userId, since);
     }
 
     /**
-     * Search tasks by title or description for a specific user
+     * Search tasks by title or description for a specific user, read as projections
      */
+    @Transactional(readOnly = true)
     public List<TaskResponse> searchTasks(String query, Long userId) {
-        User user = userRepository.findById(userId)
+        return searchTasks(query, userId, false);
+    }
+
+    /**
+     * Search tasks by title or description for a specific user, optionally
+     * including archived ones
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(String query, Long userId, boolean includeArchived) {
+        userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        return withArchived(taskRepository.findResponsesByUser(userId, query), userId, query, includeArchived);
+    }
 
-        List<Task> tasks = taskRepository
-                .findByUserAndTitleContainingIgnoreCaseOrUserAndDescriptionContainingIgnoreCase(
-                        user, query, user, query);
+    /**
+     * Search tasks by title or description, loading only the selected fields
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(String query, Long userId, Set<TaskField> fields) {
+        return searchTasks(query, userId, fields, false);
+    }
 
-        return tasks.stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    /**
+     * Search tasks by title or description, loading only the selected fields of
+     * live tasks and, optionally, complete archived ones
+     */
+    @Transactional(readOnly = true)
+    public List<TaskResponse> searchTasks(String query, Long userId, Set<TaskField> fields, boolean includeArchived) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        return withArchived(taskRepository.findFieldsByUser(userId, query, fields), userId, query, includeArchived);
+    }
+
+    /**
+     * Search tasks by title or description with their tags listed once
+     */
+    @Transactional(readOnly = true)
+    public NormalizedTaskListResponse searchTasksNormalized(String query, Long userId) {
+        return searchTasksNormalized(query, userId, false);
+    }
+
+    /**
+     * Search tasks by title or description with their tags listed once,
+     * optionally including archived ones
+     */
+    @Transactional(readOnly = true)
+    public NormalizedTaskListResponse searchTasksNormalized(String query, Long userId, boolean includeArchived) {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User not found with id: " + userId));
+        return normalize(withArchived(taskRepository.findResponsesByUser(userId, query), userId, query,
+                includeArchived));
     }
 
     // Helper methods
 
+    /**
+     * Rank of a task the moved one is placed next to, which must be another of
+     * the user's tasks in the target column
+     */
+    private String neighbourRank(Long neighbourId, Task task, TaskStatus status, Long userId) {
+        Task neighbour = taskRepository.findByIdAndUserId(neighbourId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Task not found with id: " + neighbourId));
+        if (neighbour.getId().equals(task.getId()) || neighbour.getStatus() != status) {
+            throw new IllegalArgumentException("Task " + neighbourId + " is not another task in column " + status);
+        }
+        return neighbour.getRank();
+    }
+
+    /**
+     * Add the user's archived tasks matching the query, if asked for, keeping the list in id order
+     */
+    private List<TaskResponse> withArchived(List<TaskResponse> tasks, Long userId, String query,
+                                            boolean includeArchived) {
+        if (!includeArchived) {
+            return tasks;
+        }
+        List<TaskResponse> all = new ArrayList<>(tasks);
+        all.addAll(taskArchiveRepository.findResponsesByUser(userId, query));
+        all.sort(Comparator.comparing(TaskResponse::getId));
+        return all;
+    }
+
     private TaskResponse convertToResponse(Task task) {
         TaskResponse response = new TaskResponse();
         response.setId(task.getId());
@@ -152,8 +412,9 @@ public class TaskService {
         response.setCreatedAt(task.getCreatedAt());
         response.setUpdatedAt(task.getUpdatedAt());
 
-        // Convert tags to TagResponse objects
+        // Convert tags to TagResponse objects; a tag set served from the cache may include deleted tags
         List<TagResponse> tagResponses = task.getTags().stream()
+                .filter(tag -> tag.getDeletedAt() == null)
                 .map(tag -> new TagResponse(tag.getId(), tag.getName(), tag.getColor(),
                         tag.getCreatedAt(), tag.getUpdatedAt()))
                 .collect(Collectors.toList());
@@ -161,4 +422,25 @@ public class TaskService {
 
         return response;
     }
+
+    private NormalizedTaskListResponse normalize(List<TaskResponse> tasks) {
+        NormalizedTaskListResponse response = new NormalizedTaskListResponse();
+        for (TaskResponse task : tasks) {
+            NormalizedTaskResponse entry = new NormalizedTaskResponse();
+            entry.setId(task.getId());
+            entry.setTitle(task.getTitle());
+            entry.setDescription(task.getDescription());
+            entry.setStatus(task.getStatus());
+            entry.setCreatedAt(task.getCreatedAt());
+            entry.setUpdatedAt(task.getUpdatedAt());
+
+            // Each tag goes into the dictionary once; tasks only carry its id
+            for (TagResponse tag : task.getTags()) {
+                response.getTags().putIfAbsent(tag.getId(), tag);
+                entry.getTagIds().add(tag.getId());
+            }
+            response.getTasks().add(entry);
+        }
+        return response;
+    }
 }
\ No newline at end of file
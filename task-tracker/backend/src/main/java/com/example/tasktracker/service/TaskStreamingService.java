@@ -0,0 +1,163 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.entity.CompressedText;
+import com.example.tasktracker.exception.UserNotFoundException;
+import com.example.tasktracker.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes a user's tasks as a JSON array straight from a JDBC cursor. Rows are
+ * ordered by task with one row per tag, so tags are grouped on the fly and
+ * nothing but the current row is held in memory, whatever the result size.
+ * The output matches the serialized {@code List<TaskResponse>}.
+ */
+@Service
+public class TaskStreamingService {
+
+    private static final String TASKS_WITH_TAGS_SQL =
+            "select t.id, t.title, t.description, t.status, t.created_at, t.updated_at, "
+                    + "g.id as tag_id, g.name as tag_name, g.color as tag_color, "
+                    + "g.created_at as tag_created_at, g.updated_at as tag_updated_at "
+                    + "from tasks t "
+                    + "left join task_tags tt on tt.task_id = t.id and tt.user_id = t.user_id "
+                    + "left join tags g on g.id = tt.tag_id and g.deleted_at is null "
+                    + "where t.user_id = ? and t.deleted_at is null "
+                    + "order by t.id, g.name";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.tasks.stream.fetch-size:500}")
+    private int fetchSize;
+
+    /**
+     * Stream all tasks of a user to the given output. Runs in a read-only
+     * transaction so drivers such as PostgreSQL use a cursor for the fetch size.
+     */
+    @Transactional(readOnly = true)
+    public void streamTasks(Long userId, OutputStream out) throws IOException {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User not found with id: " + userId);
+        }
+
+        // Dates go through the application's own serializer so the format matches TaskResponse
+        SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+        JsonSerializer<Object> dateSerializer = provider.findValueSerializer(LocalDateTime.class);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            TaskRowWriter writer = new TaskRowWriter(generator, provider, dateSerializer);
+            try {
+                jdbcTemplate.query(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(TASKS_WITH_TAGS_SQL,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    statement.setFetchSize(fetchSize);
+                    statement.setLong(1, userId);
+                    return statement;
+                }, writer);
+                writer.finish();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Turns the task/tag rows into task objects, closing one when the task id changes
+     */
+    private static class TaskRowWriter implements RowCallbackHandler {
+        private final JsonGenerator generator;
+        private final SerializerProvider provider;
+        private final JsonSerializer<Object> dateSerializer;
+        private long currentTaskId;
+        private boolean open;
+
+        TaskRowWriter(JsonGenerator generator, SerializerProvider provider, JsonSerializer<Object> dateSerializer) {
+            this.generator = generator;
+            this.provider = provider;
+            this.dateSerializer = dateSerializer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long taskId = rs.getLong("id");
+                if (!open || taskId != currentTaskId) {
+                    finish();
+                    startTask(rs, taskId);
+                }
+                long tagId = rs.getLong("tag_id");
+                if (!rs.wasNull()) {
+                    writeTag(rs, tagId);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void finish() throws IOException {
+            if (open) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                open = false;
+            }
+        }
+
+        private void startTask(ResultSet rs, long taskId) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", taskId);
+            generator.writeStringField("title", rs.getString("title"));
+            generator.writeStringField("description", CompressedText.decode(rs.getString("description")));
+            generator.writeStringField("status", rs.getString("status"));
+            writeDate("createdAt", rs.getObject("created_at", LocalDateTime.class));
+            writeDate("updatedAt", rs.getObject("updated_at", LocalDateTime.class));
+            generator.writeArrayFieldStart("tags");
+            currentTaskId = taskId;
+            open = true;
+        }
+
+        private void writeTag(ResultSet rs, long tagId) throws SQLException, IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("id", tagId);
+            generator.writeStringField("name", rs.getString("tag_name"));
+            generator.writeStringField("color", rs.getString("tag_color"));
+            writeDate("createdAt", rs.getObject("tag_created_at", LocalDateTime.class));
+            writeDate("updatedAt", rs.getObject("tag_updated_at", LocalDateTime.class));
+            generator.writeEndObject();
+        }
+
+        private void writeDate(String field, LocalDateTime value) throws IOException {
+            generator.writeFieldName(field);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                dateSerializer.serialize(value, generator, provider);
+            }
+        }
+    }
+}
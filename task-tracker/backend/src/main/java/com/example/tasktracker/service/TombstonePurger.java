@@ -0,0 +1,149 @@
+package com.example.tasktracker.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+/**
+ * Physically removes deleted tasks and tags once their tombstones are older
+ * than the retention period. Deleting in the request only sets deleted_at;
+ * the links and rows go here, in small batches, each in its own transaction
+ * with a pause in between, so mass cleanups do not hold locks for long.
+ */
+@Service
+public class TombstonePurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(TombstonePurger.class);
+
+    private static final String SELECT_TASKS_SQL =
+            "select id, user_id from tasks where deleted_at < ? order by id limit ? for update";
+
+    private static final String DELETE_TASK_LINKS_SQL = "delete from task_tags where user_id = ? and task_id = ?";
+
+    private static final String DELETE_TASK_SQL = "delete from tasks where id = ? and user_id = ?";
+
+    private static final String SELECT_TAGS_SQL =
+            "select id from tags where deleted_at < ? order by id limit ? for update";
+
+    // A tag's links span all its owner's tasks; archived links go with the tag by cascade
+    private static final String DELETE_TAG_LINKS_SQL = "delete from task_tags where tag_id = ?";
+
+    private static final String DELETE_TAG_SQL = "delete from tags where id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.deletion.undo-window:10m}")
+    private Duration undoWindow;
+
+    @Value("${app.deletion.retention:1d}")
+    private Duration retention;
+
+    @Value("${app.deletion.purge.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.deletion.purge.pause:500ms}")
+    private Duration pause;
+
+    @PostConstruct
+    void checkRetention() {
+        // Purging inside the undo window would make undo fail for no visible reason
+        if (retention.compareTo(undoWindow) < 0) {
+            throw new IllegalStateException("app.deletion.retention (" + retention
+                    + ") must not be shorter than app.deletion.undo-window (" + undoWindow + ")");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.deletion.purge.initial-delay:2m}",
+            fixedDelayString = "${app.deletion.purge.interval:10m}")
+    public void run() {
+        int purged = purge();
+        if (purged > 0) {
+            logger.info("Purged {} deleted tasks and tags", purged);
+        }
+    }
+
+    /**
+     * Purge every tombstone past the retention period, returning how many
+     * tasks and tags were removed. Stops early if the thread is interrupted.
+     */
+    public int purge() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(retention));
+        // Tasks first: purging a tag then has fewer links left to delete
+        int purged = inBatches(() -> purgeTaskBatch(cutoff)) + inBatches(() -> purgeTagBatch(cutoff));
+        meterRegistry.counter("tombstones.purged").increment(purged);
+        return purged;
+    }
+
+    /**
+     * Purge one deleted tag straight away, e.g. because a new tag takes its
+     * name. Runs in the caller's transaction.
+     */
+    public void purgeTag(Long tagId) {
+        jdbcTemplate.update(DELETE_TAG_LINKS_SQL, tagId);
+        jdbcTemplate.update(DELETE_TAG_SQL, tagId);
+    }
+
+    private int purgeTaskBatch(Timestamp cutoff) {
+        List<Object[]> keys = jdbcTemplate.query(SELECT_TASKS_SQL,
+                (rs, rowNum) -> new Object[]{rs.getLong("id"), rs.getLong("user_id")}, cutoff, batchSize);
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> links = new ArrayList<>();
+        for (Object[] key : keys) {
+            links.add(new Object[]{key[1], key[0]});
+        }
+        jdbcTemplate.batchUpdate(DELETE_TASK_LINKS_SQL, links);
+        jdbcTemplate.batchUpdate(DELETE_TASK_SQL, keys);
+        return keys.size();
+    }
+
+    private int purgeTagBatch(Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_TAGS_SQL, Long.class, cutoff, batchSize);
+        for (Long id : ids) {
+            purgeTag(id);
+        }
+        return ids.size();
+    }
+
+    /**
+     * Run the batch, one transaction at a time, until it comes back short
+     */
+    private int inBatches(IntSupplier batch) {
+        int purged = 0;
+        while (true) {
+            int removed = transactionTemplate.execute(status -> batch.getAsInt());
+            purged += removed;
+            if (removed < batchSize) {
+                return purged;
+            }
+            try {
+                Thread.sleep(pause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return purged;
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.tasktracker.service;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.io.Serial;
+import java.util.Collection;
+
+/**
+ * Authenticated user that also carries the database id, so per-user
+ * bookkeeping such as rate limits can key on it without a lookup
+ */
+public class UserPrincipal extends User {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long id;
+
+    public UserPrincipal(long id, String username, String password, boolean enabled, boolean accountNonExpired,
+                         boolean credentialsNonExpired, boolean accountNonLocked,
+                         Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, enabled, accountNonExpired, credentialsNonExpired, accountNonLocked, authorities);
+        this.id = id;
+    }
+
+    /**
+     * Copy of a user's details with the given id
+     */
+    public static UserPrincipal of(long id, UserDetails details) {
+        return new UserPrincipal(id, details.getUsername(), details.getPassword(), details.isEnabled(),
+                details.isAccountNonExpired(), details.isCredentialsNonExpired(), details.isAccountNonLocked(),
+                details.getAuthorities());
+    }
+
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,48 @@
+-- Schema as Hibernate created it with ddl-auto=update. Databases that already
+-- have these tables are baselined at this version and skip this script.
+
+create table users (
+    id                      bigint generated by default as identity primary key,
+    username                varchar(50)  not null unique,
+    password                varchar(255) not null,
+    email                   varchar(255) not null unique,
+    enabled                 boolean      not null,
+    account_non_expired     boolean      not null,
+    account_non_locked      boolean      not null,
+    credentials_non_expired boolean      not null,
+    role                    varchar(20)  not null
+);
+
+create table profiles (
+    id         bigint generated by default as identity primary key,
+    first_name varchar(50)  not null,
+    last_name  varchar(50)  not null,
+    email      varchar(100) not null,
+    user_id    bigint unique references users
+);
+
+create table tags (
+    id         bigint generated by default as identity primary key,
+    name       varchar(50) not null,
+    color      varchar(7),
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    user_id    bigint      not null references users,
+    unique (name, user_id)
+);
+
+create table tasks (
+    id          bigint generated by default as identity primary key,
+    title       varchar(255),
+    description text,
+    status      varchar(255) check (status in ('TODO', 'IN_PROGRESS', 'DONE')),
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    user_id     bigint references users
+);
+
+create table task_tags (
+    task_id bigint not null references tasks,
+    tag_id  bigint not null references tags,
+    primary key (task_id, tag_id)
+);
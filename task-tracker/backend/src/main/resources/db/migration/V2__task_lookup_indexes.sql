@@ -0,0 +1,12 @@
+-- Every task query filters on the owner. The two composite indexes also serve
+-- plain user_id lookups through their leading column, so there is no separate
+-- index on tasks(user_id).
+create index idx_tasks_user_status on tasks (user_id, status);
+create index idx_tasks_user_updated_at on tasks (user_id, updated_at);
+
+-- The primary key leads with task_id; finding the tasks carrying a tag
+-- (tag deletion, tag filters) needs the reverse direction.
+create index idx_task_tags_tag_id on task_tags (tag_id);
+
+-- The unique constraint leads with name, which does not help listing one user's tags
+create index idx_tags_user_name on tags (user_id, name);
@@ -0,0 +1,3 @@
+-- ddl-auto=update never changed column types, so databases created before
+-- descriptions were unbounded may still have a varchar column here.
+alter table tasks alter column description type text;
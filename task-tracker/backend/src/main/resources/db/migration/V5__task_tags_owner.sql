@@ -0,0 +1,8 @@
+-- Each link row carries its task's owner, the key tasks and task_tags can be
+-- partitioned by (see R__task_partitioning), so links are always read
+-- and written together with their task's partition.
+alter table task_tags add column user_id bigint;
+
+update task_tags set user_id = (select t.user_id from tasks t where t.id = task_tags.task_id);
+
+alter table task_tags alter column user_id set not null;
@@ -0,0 +1,26 @@
+-- Cold storage for old DONE tasks (see TaskArchiver). Rows keep their ids and
+-- timestamps; the keys lead with user_id because archived tasks are only ever
+-- read per owner.
+create table tasks_archive (
+    id          bigint       not null,
+    user_id     bigint       not null references users,
+    title       varchar(255),
+    description text,
+    status      varchar(255),
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    archived_at timestamp(6) not null,
+    primary key (user_id, id)
+);
+
+-- Deleting a tag removes it from archived tasks too, as it does for live ones
+create table task_tags_archive (
+    user_id bigint not null,
+    task_id bigint not null,
+    tag_id  bigint not null references tags on delete cascade,
+    primary key (user_id, task_id, tag_id),
+    foreign key (user_id, task_id) references tasks_archive (user_id, id) on delete cascade
+);
+
+-- The archiver looks for old DONE tasks across all users
+create index idx_tasks_status_updated_at on tasks (status, updated_at);
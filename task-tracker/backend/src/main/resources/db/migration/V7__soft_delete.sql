@@ -0,0 +1,8 @@
+-- Deleted tasks and tags stay as tombstones (deleted_at set) until TombstonePurger
+-- removes them, so a deletion can be undone and sync clients can see it.
+alter table tasks add column deleted_at timestamp(6);
+alter table tags add column deleted_at timestamp(6);
+
+-- The purger looks for old tombstones across all users
+create index idx_tasks_deleted_at on tasks (deleted_at);
+create index idx_tags_deleted_at on tags (deleted_at);
@@ -0,0 +1,18 @@
+-- Position of each task within its owner's column for its status (see TaskRank).
+-- Existing tasks keep their creation order: the n-th task of a column gets the
+-- nine-digit integer rank 'q' followed by n in decimal, zero-padded. Decimal digits
+-- are base-36 digits too; the gaps between them are left free. One set-based
+-- statement, so no rows pass through the application.
+alter table tasks add column rank varchar(255);
+
+merge into tasks t
+using (select id, user_id, row_number() over (partition by user_id, status order by id) as n from tasks) r
+on (t.id = r.id and t.user_id = r.user_id)
+when matched then update set rank = 'q' || lpad(cast(r.n as varchar), 9, '0');
+
+alter table tasks alter column rank set not null;
+
+-- Returns a board column already in order; it also covers every lookup the
+-- (user_id, status) index served
+create index idx_tasks_user_status_rank on tasks (user_id, status, rank);
+drop index idx_tasks_user_status;
@@ -0,0 +1,183 @@
+package com.example.tasktracker;
+
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares throughput and p99 latency of the servlet stack on platform threads
+ * and on virtual threads, with the same Tomcat and Hikari sizing. Each request
+ * runs one JDBC query and then waits on simulated remote I/O (Redis or an
+ * external call), which is where platform threads sit idle.
+ * <p>
+ * Starts its own application contexts on separate in-memory databases, so run
+ * it on its own:
+ * <pre>mvn test -Dtest=VirtualThreadLoadTest -Dbenchmark=true</pre>
+ */
+@DisplayName("Virtual vs platform thread load test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(10);
+    private static final long REMOTE_IO_MILLIS = 50;
+
+    @Test
+    @DisplayName("Should report throughput and p99 for both thread models")
+    void compareThreadModels() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%-10s %10s %10s %10s %8s%n", "threads", "req/s", "p50 ms", "p99 ms", "errors");
+        System.out.println(platform);
+        System.out.println(virtual);
+
+        assertTrue(virtual.throughput() > platform.throughput(),
+                "virtual threads should serve blocked requests with fewer bottlenecks");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String name = virtualThreads ? "virtual" : "platform";
+        // Passed as command-line arguments so they win over the profile's properties files
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskTrackerApplication.class, LoadTestController.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.threads.max=50",
+                "--spring.datasource.hikari.maximum-pool-size=10",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + name + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.tasktracker=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.hibernate=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String sessionCookie = login(context, port);
+            return drive(name, URI.create("http://localhost:" + port + "/loadtest/io"), sessionCookie);
+        }
+    }
+
+    private String login(ConfigurableApplicationContext context, int port) throws Exception {
+        PasswordEncoder passwordEncoder = context.getBean(PasswordEncoder.class);
+        context.getBean(UserRepository.class)
+                .save(new User("loaduser", passwordEncoder.encode("pRH8F8cu@FYhRqG"), "loaduser@gmail.com"));
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder()
+                        .uri(URI.create("http://localhost:" + port + "/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"username\":\"loaduser\",\"password\":\"pRH8F8cu@FYhRqG\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), response.body());
+        return response.headers().firstValue("Set-Cookie").orElseThrow().split(";", 2)[0];
+    }
+
+    private Result drive(String name, URI uri, String sessionCookie) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Cookie", sessionCookie)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        long measureFrom = System.nanoTime() + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASURE.toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < measureUntil) {
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (start >= measureFrom && System.nanoTime() <= measureUntil) {
+                            if (ok) {
+                                latencies.add(System.nanoTime() - start);
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            }
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        return new Result(name, sorted.size() / (double) MEASURE.toSeconds(),
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), errors.get());
+    }
+
+    private static double percentileMillis(List<Long> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return Double.NaN;
+        }
+        int index = Math.min(sorted.size() - 1, (int) Math.ceil(percentile * sorted.size()) - 1);
+        return sorted.get(index) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private record Result(String name, double throughput, double p50Millis, double p99Millis, long errors) {
+        @Override
+        public String toString() {
+            return String.format("%-10s %10.1f %10.1f %10.1f %8d", name, throughput, p50Millis, p99Millis, errors);
+        }
+    }
+
+    /**
+     * Registered explicitly as a source of the contexts this test starts;
+     * component scanning skips classes nested in test classes.
+     */
+    @RestController
+    static class LoadTestController {
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @GetMapping("/loadtest/io")
+        public Integer io() throws InterruptedException {
+            Integer users = jdbcTemplate.queryForObject("select count(*) from users", Integer.class);
+            // Remote call outside the connection, e.g. Redis or another service
+            Thread.sleep(REMOTE_IO_MILLIS);
+            return users;
+        }
+    }
+}
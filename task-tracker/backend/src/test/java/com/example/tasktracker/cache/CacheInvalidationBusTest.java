@@ -0,0 +1,148 @@
+package com.example.tasktracker.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CacheInvalidationBus multi-node tests")
+class CacheInvalidationBusTest {
+
+    private static final long USER_ID = 42L;
+
+    /**
+     * Shared "database" behind all nodes
+     */
+    private final Map<Long, String> database = new ConcurrentHashMap<>();
+
+    private LoopbackInvalidationTransport channel;
+    private Node nodeA;
+    private Node nodeB;
+    private Node nodeC;
+
+    @BeforeEach
+    void setUp() {
+        channel = new LoopbackInvalidationTransport();
+        nodeA = new Node(channel);
+        nodeB = new Node(channel);
+        nodeC = new Node(channel);
+        database.put(USER_ID, "v1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not serve stale reads on other nodes after a write")
+    void shouldNotServeStaleReadsAfterWrite() {
+        assertEquals("v1", nodeA.read(USER_ID));
+        assertEquals("v1", nodeB.read(USER_ID));
+        assertEquals("v1", nodeC.read(USER_ID));
+
+        nodeA.write(USER_ID, "v2");
+
+        assertEquals("v2", nodeA.read(USER_ID));
+        assertEquals("v2", nodeB.read(USER_ID));
+        assertEquals("v2", nodeC.read(USER_ID));
+    }
+
+    @Test
+    @DisplayName("Should broadcast only after the transaction commits")
+    void shouldBroadcastOnlyAfterCommit() {
+        assertEquals("v1", nodeB.read(USER_ID));
+
+        TransactionSynchronizationManager.initSynchronization();
+        nodeA.write(USER_ID, "v2");
+
+        // Not committed yet: other nodes keep their entry
+        assertNotNull(nodeB.cachedValue(USER_ID));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertNull(nodeB.cachedValue(USER_ID));
+        assertEquals("v2", nodeB.read(USER_ID));
+    }
+
+    @Test
+    @DisplayName("Should only evict the invalidated user and entity")
+    void shouldOnlyEvictInvalidatedUserAndEntity() {
+        database.put(7L, "other");
+        nodeB.read(USER_ID);
+        nodeB.read(7L);
+
+        nodeA.bus.invalidate(USER_ID, InvalidationEntity.PROFILE);
+        assertNotNull(nodeB.cachedValue(USER_ID));
+
+        nodeA.bus.invalidate(USER_ID, InvalidationEntity.TAGS);
+        assertNull(nodeB.cachedValue(USER_ID));
+        assertNotNull(nodeB.cachedValue(7L));
+    }
+
+    @Test
+    @DisplayName("Should round-trip the compact wire format")
+    void shouldRoundTripWireFormat() {
+        InvalidationMessage message = new InvalidationMessage(USER_ID, InvalidationEntity.PROFILE, null, "node-1");
+        InvalidationMessage single = new InvalidationMessage(USER_ID, InvalidationEntity.TASKS, 7L, "node-1");
+
+        assertEquals("42|PROFILE||node-1", message.encode());
+        assertEquals(message, InvalidationMessage.decode(message.encode()));
+        assertEquals("42|TASKS|7|node-1", single.encode());
+        assertEquals(single, InvalidationMessage.decode(single.encode()));
+        assertThrows(IllegalArgumentException.class, () -> InvalidationMessage.decode("garbage"));
+    }
+
+    @Test
+    @DisplayName("Should ignore malformed messages")
+    void shouldIgnoreMalformedMessages() {
+        nodeB.read(USER_ID);
+
+        assertDoesNotThrow(() -> channel.publish("not|a|valid|message|at-all"));
+        assertNotNull(nodeB.cachedValue(USER_ID));
+    }
+
+    /**
+     * One backend replica: its own cache manager and bus on the shared channel
+     */
+    private class Node {
+        private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.USER_TAGS);
+        private final CacheInvalidationBus bus;
+
+        Node(InvalidationTransport transport) {
+            this.bus = new CacheInvalidationBus(cacheManager, transport);
+        }
+
+        String read(Long userId) {
+            return cache().get(userId, () -> database.get(userId));
+        }
+
+        void write(Long userId, String value) {
+            database.put(userId, value);
+            bus.invalidate(userId, InvalidationEntity.TAGS);
+        }
+
+        Object cachedValue(Long userId) {
+            Cache.ValueWrapper wrapper = cache().get(userId);
+            return wrapper != null ? wrapper.get() : null;
+        }
+
+        private Cache cache() {
+            return cacheManager.getCache(CacheNames.USER_TAGS);
+        }
+    }
+}
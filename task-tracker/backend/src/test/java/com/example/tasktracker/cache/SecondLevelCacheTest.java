@@ -0,0 +1,223 @@
+package com.example.tasktracker.cache;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.dto.TaskRequest;
+import com.example.tasktracker.entity.Profile;
+import com.example.tasktracker.entity.Tag;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.ProfileRepository;
+import com.example.tasktracker.repository.TagRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import com.example.tasktracker.service.TagService;
+import com.example.tasktracker.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the task-creation path repeatedly, each iteration in its own
+ * persistence context, and reads Hibernate statistics to check the
+ * second-level and query cache hit rates. Runs without the test transaction
+ * so every iteration starts with an empty first-level cache, as real requests do.
+ */
+@DisplayName("Hibernate second-level cache load test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest extends BaseIntegrationTest {
+
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private InvalidationTransport invalidationTransport;
+
+    private Statistics statistics;
+    private User user;
+    private final List<Long> tagIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUpTestData() {
+        user = userRepository.save(new User("cacheuser", "{noop}password", "cacheuser@gmail.com"));
+        for (int i = 0; i < 5; i++) {
+            tagIds.add(tagRepository.save(new Tag("Tag " + i, user)).getId());
+        }
+        Profile profile = new Profile();
+        profile.setFirstName("Cache");
+        profile.setLastName("User");
+        profile.setEmail("cacheuser@gmail.com");
+        profile.setUser(user);
+        profileRepository.save(profile);
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll(taskRepository.findByUser(user));
+        profileRepository.findByUser(user).ifPresent(profileRepository::delete);
+        tagRepository.deleteAll(tagRepository.findByUserOrderByNameAsc(user));
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated tag, user and profile lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        for (int i = 0; i < ITERATIONS; i++) {
+            int iteration = i;
+            // One persistence context per call, like one per request
+            transactionTemplate.executeWithoutResult(status -> {
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Task " + iteration);
+                request.setTagIds(tagIds);
+                taskService.createTask(request, user.getId());
+            });
+            tagService.getTag(tagIds.get(iteration % tagIds.size()), user.getId());
+            profileRepository.findByUser(user);
+        }
+
+        CacheRegionStatistics tags = statistics.getDomainDataRegionStatistics("tags");
+        CacheRegionStatistics users = statistics.getDomainDataRegionStatistics("users");
+        CacheRegionStatistics queries = statistics.getQueryRegionStatistics("lookup-queries");
+
+        assertTrue(hitRatio(tags) > 0.95, "tags region hit ratio " + hitRatio(tags));
+        assertTrue(hitRatio(users) > 0.95, "users region hit ratio " + hitRatio(users));
+        assertTrue(hitRatio(queries) > 0.95, "query cache hit ratio " + hitRatio(queries));
+    }
+
+    @Test
+    @DisplayName("Should not serve stale tags from the cache after an update")
+    void shouldNotServeStaleTagsAfterUpdate() {
+        Long tagId = tagIds.get(0);
+        assertEquals("Tag 0", tagService.getTag(tagId, user.getId()).getName());
+
+        Tag tag = tagRepository.findById(tagId).orElseThrow();
+        tag.setName("Renamed");
+        tagRepository.save(tag);
+
+        assertEquals("Renamed", tagService.getTag(tagId, user.getId()).getName());
+        assertEquals("Renamed", tagService.getTagsByIdsAndUser(List.of(tagId), user.getId()).get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Should evict only the written task's tag set when another node reports a task write")
+    void shouldEvictOnlyWrittenTaskOnRemoteTaskWrite() {
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            int index = i;
+            taskIds.add(transactionTemplate.execute(status -> {
+                TaskRequest request = new TaskRequest();
+                request.setTitle("Task " + index);
+                request.setTagIds(tagIds);
+                return taskService.createTask(request, user.getId()).getId();
+            }));
+        }
+        for (Long taskId : taskIds) {
+            transactionTemplate.executeWithoutResult(status ->
+                    Hibernate.initialize(taskRepository.findById(taskId).orElseThrow().getTags()));
+        }
+        String role = Task.class.getName() + ".tags";
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Task first = SecondLevelCacheInvalidator.taskTagsKey(taskIds.get(0), user.getId());
+        Task second = SecondLevelCacheInvalidator.taskTagsKey(taskIds.get(1), user.getId());
+        assertTrue(cache.containsCollection(role, first));
+
+        invalidationTransport.publish(
+                new InvalidationMessage(user.getId(), InvalidationEntity.TASKS, taskIds.get(0), "other-node").encode());
+
+        assertFalse(cache.containsCollection(role, first));
+        assertTrue(cache.containsCollection(role, second));
+    }
+
+    @Test
+    @DisplayName("Should evict only the writer's entries when another node reports a write")
+    void shouldEvictOnlyWritersEntriesOnRemoteWrite() {
+        User bystander = userRepository.save(new User("cachebystander", "{noop}password", "cachebystander@gmail.com"));
+        Long bystanderTagId = tagRepository.save(new Tag("Other tag", bystander)).getId();
+        try {
+            Long tagId = tagIds.get(0);
+            tagService.getTag(tagId, user.getId());
+            tagService.getTag(bystanderTagId, bystander.getId());
+            profileRepository.findByUser(user);
+
+            // Written on another node: this node's cache only learns of it from the message
+            jdbcTemplate.update("update tags set name = ? where id = ?", "Renamed", tagId);
+            invalidationTransport.publish(
+                    new InvalidationMessage(user.getId(), InvalidationEntity.TAGS, null, "other-node").encode());
+
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            assertFalse(cache.containsEntity(Tag.class, tagId));
+            assertTrue(cache.containsEntity(Tag.class, bystanderTagId));
+            assertEquals("Renamed", tagService.getTag(tagId, user.getId()).getName());
+
+            // Cached queries on other tables survive
+            statistics.clear();
+            profileRepository.findByUser(user);
+            assertEquals(1, statistics.getQueryCacheHitCount());
+
+            // Cached queries on the written table do not
+            assertEquals(1, tagRepository.findByIdsAndUserId(List.of(tagId), user.getId()).size());
+            jdbcTemplate.update("update tags set deleted_at = current_timestamp where id = ?", tagId);
+            invalidationTransport.publish(
+                    new InvalidationMessage(user.getId(), InvalidationEntity.TAGS, null, "other-node").encode());
+            assertTrue(tagRepository.findByIdsAndUserId(List.of(tagId), user.getId()).isEmpty());
+        } finally {
+            // Soft-deleted tags are invisible to the clean-up
+            jdbcTemplate.update("update tags set deleted_at = null where user_id = ?", user.getId());
+            tagRepository.deleteById(bystanderTagId);
+            userRepository.delete(bystander);
+        }
+    }
+
+    private static double hitRatio(CacheRegionStatistics region) {
+        long hits = region.getHitCount();
+        long total = hits + region.getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
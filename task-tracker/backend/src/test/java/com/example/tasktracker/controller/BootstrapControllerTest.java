@@ -0,0 +1,113 @@
+package com.example.tasktracker.controller;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.entity.Profile;
+import com.example.tasktracker.entity.Tag;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.TaskStatus;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.ProfileRepository;
+import com.example.tasktracker.repository.TagRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The bootstrap lookups run on their own threads and connections, so test
+ * data is committed instead of living in the test transaction.
+ */
+@DisplayName("BootstrapController Integration Tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BootstrapControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUpTestData() {
+        transactionTemplate.executeWithoutResult(status -> createTestData());
+    }
+
+    private void createTestData() {
+        testUser = userRepository.save(new User("bootstrapuser", "{noop}password", "bootstrapuser@gmail.com"));
+        Tag workTag = tagRepository.save(new Tag("Work", testUser));
+
+        Profile profile = new Profile();
+        profile.setFirstName("Boot");
+        profile.setLastName("Strap");
+        profile.setEmail("bootstrapuser@gmail.com");
+        profile.setUser(testUser);
+        profileRepository.save(profile);
+
+        TaskStatus[] statuses = {TaskStatus.TODO, TaskStatus.TODO, TaskStatus.IN_PROGRESS};
+        for (int i = 0; i < statuses.length; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setStatus(statuses[i]);
+            task.setUser(testUser);
+            task.getTags().add(workTag);
+            taskRepository.save(task);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll(taskRepository.findByUser(testUser));
+        profileRepository.findByUser(testUser).ifPresent(profileRepository::delete);
+        tagRepository.deleteAll(tagRepository.findByUserOrderByNameAsc(testUser));
+        userRepository.delete(testUser);
+    }
+
+    @Test
+    @DisplayName("Should return profile, tags, first task page and status counts in one response")
+    void shouldReturnInitialPayload() throws Exception {
+        mockMvc.perform(get("/api/bootstrap")
+                .param("size", "2")
+                .with(user("bootstrapuser").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username", is("bootstrapuser")))
+                .andExpect(jsonPath("$.role", is("USER")))
+                .andExpect(jsonPath("$.profile.firstName", is("Boot")))
+                .andExpect(jsonPath("$.tags[*].name", contains("Work")))
+                .andExpect(jsonPath("$.tasks", hasSize(2)))
+                .andExpect(jsonPath("$.tasks[0].title", is("Task 0")))
+                .andExpect(jsonPath("$.tasks[0].tags[0].name", is("Work")))
+                .andExpect(jsonPath("$.totalTasks", is(3)))
+                .andExpect(jsonPath("$.statusCounts.TODO", is(2)))
+                .andExpect(jsonPath("$.statusCounts.IN_PROGRESS", is(1)))
+                .andExpect(jsonPath("$.statusCounts.DONE", is(0)));
+    }
+
+    @Test
+    @DisplayName("Should require authentication")
+    void shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/api/bootstrap"))
+                .andExpect(status().isUnauthorized());
+    }
+}
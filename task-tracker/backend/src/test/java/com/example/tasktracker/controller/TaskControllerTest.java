@@ -10,11 +10,15 @@ import com.example.tasktracker.entity.User;
 import com.example.tasktracker.repository.TagRepository;
 import com.example.tasktracker.repository.TaskRepository;
 import com.example.tasktracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -44,6 +48,8 @@ class TaskControllerTest extends BaseIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     private User testUser;
     private User otherUser;
     private Task testTask1;
@@ -408,4 +414,251 @@ class TaskControllerTest extends BaseIntegrationTest {
                     .andExpect(status().isUnauthorized());
         }
     }
+
+    @Nested
+    @DisplayName("Binary and normalized encodings")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should encode the task list as CBOR when asked for it")
+        void shouldEncodeTaskListAsCbor() throws Exception {
+            byte[] body = mockMvc.perform(get("/api/tasks")
+                    .accept(MediaType.APPLICATION_CBOR)
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            JsonNode tasks = new CBORMapper().readTree(body);
+            assertEquals(2, tasks.size());
+            assertTrue(tasks.findValuesAsText("title").containsAll(List.of("Complete project", "Review code")));
+        }
+
+        @Test
+        @DisplayName("Should encode tags as Smile when asked for it")
+        void shouldEncodeTagsAsSmile() throws Exception {
+            byte[] body = mockMvc.perform(get("/api/tags")
+                    .accept(SMILE)
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(SMILE))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            JsonNode tags = new SmileMapper().readTree(body);
+            assertTrue(tags.findValuesAsText("name").containsAll(List.of("Work", "Personal")));
+        }
+
+        @Test
+        @DisplayName("Should keep JSON for clients that accept anything")
+        void shouldKeepJsonForWildcardAccept() throws Exception {
+            mockMvc.perform(get("/api/tasks")
+                    .accept(MediaType.ALL)
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(JSON));
+        }
+
+        @Test
+        @DisplayName("Should send each tag once in the normalized shape")
+        void shouldSendEachTagOnceWhenNormalized() throws Exception {
+            testTask1.addTag(workTag);
+            testTask1.addTag(personalTag);
+            testTask2.addTag(workTag);
+            taskRepository.saveAndFlush(testTask1);
+            taskRepository.saveAndFlush(testTask2);
+
+            mockMvc.perform(get("/api/tasks")
+                    .param("shape", "normalized")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.tags.length()", is(2)))
+                    .andExpect(jsonPath("$.tags['" + workTag.getId() + "'].name", is("Work")))
+                    .andExpect(jsonPath("$.tasks", hasSize(2)))
+                    .andExpect(jsonPath("$.tasks[*].tags").doesNotExist())
+                    .andExpect(jsonPath("$.tasks[?(@.title == 'Review code')].tagIds[*]",
+                            contains(workTag.getId().intValue())));
+        }
+
+        @Test
+        @DisplayName("Should support the normalized shape for search")
+        void shouldNormalizeSearchResults() throws Exception {
+            mockMvc.perform(get("/api/tasks/search")
+                    .param("q", "review")
+                    .param("shape", "normalized")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.tasks", hasSize(1)))
+                    .andExpect(jsonPath("$.tasks[0].title", is("Review code")))
+                    .andExpect(jsonPath("$.tags.length()", is(0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Sparse fieldsets")
+    class SparseFieldsetTests {
+
+        @Test
+        @DisplayName("Should return only the requested fields plus the id")
+        void shouldReturnOnlyRequestedFields() throws Exception {
+            mockMvc.perform(get("/api/tasks")
+                    .param("fields", "title,status")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].id", notNullValue()))
+                    .andExpect(jsonPath("$[0].title", is("Complete project")))
+                    .andExpect(jsonPath("$[0].status", is("TODO")))
+                    .andExpect(jsonPath("$[0].description").doesNotExist())
+                    .andExpect(jsonPath("$[0].tags").doesNotExist())
+                    .andExpect(jsonPath("$[0].createdAt").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should include tags when they are requested")
+        void shouldIncludeTagsWhenRequested() throws Exception {
+            testTask2.addTag(workTag);
+            taskRepository.saveAndFlush(testTask2);
+
+            mockMvc.perform(get("/api/tasks")
+                    .param("fields", "title,tags")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].tags", hasSize(0)))
+                    .andExpect(jsonPath("$[1].title", is("Review code")))
+                    .andExpect(jsonPath("$[1].tags[0].name", is("Work")));
+        }
+
+        @Test
+        @DisplayName("Should apply fields to search results")
+        void shouldApplyFieldsToSearch() throws Exception {
+            mockMvc.perform(get("/api/tasks/search")
+                    .param("q", "PR submitted")
+                    .param("fields", "title")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].title", is("Review code")))
+                    .andExpect(jsonPath("$[0].description").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should keep full responses without fields")
+        void shouldKeepFullResponsesWithoutFields() throws Exception {
+            mockMvc.perform(get("/api/tasks")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].description", notNullValue()))
+                    .andExpect(jsonPath("$[0].tags", notNullValue()));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown fields")
+        void shouldRejectUnknownFields() throws Exception {
+            mockMvc.perform(get("/api/tasks")
+                    .param("fields", "title,password")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message", is("Unknown task field: password")));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tasks/search")
+    class SearchTasksTests {
+
+        @Test
+        @DisplayName("Should match title or description ignoring case, with tags")
+        void shouldMatchTitleOrDescriptionWithTags() throws Exception {
+            testTask1.addTag(personalTag);
+            taskRepository.saveAndFlush(testTask1);
+
+            mockMvc.perform(get("/api/tasks/search")
+                    .param("q", "MANAGEMENT")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].title", is("Complete project")))
+                    .andExpect(jsonPath("$[0].description", is("Finish the task management project")))
+                    .andExpect(jsonPath("$[0].tags[0].name", is("Personal")));
+        }
+
+        @Test
+        @DisplayName("Should treat wildcard characters in the query literally")
+        void shouldTreatWildcardsLiterally() throws Exception {
+            mockMvc.perform(get("/api/tasks/search")
+                    .param("q", "%")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(0)));
+        }
+
+        @Test
+        @DisplayName("Should not return other users' tasks")
+        void shouldNotReturnOtherUsersTasks() throws Exception {
+            mockMvc.perform(get("/api/tasks/search")
+                    .param("q", "visible")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tasks/stream")
+    class StreamTasksTests {
+
+        @Test
+        @DisplayName("Should stream the same JSON as the task list")
+        void shouldStreamSameJsonAsTaskList() throws Exception {
+            testTask1.addTag(workTag);
+            testTask2.addTag(personalTag);
+            taskRepository.saveAndFlush(testTask1);
+            taskRepository.saveAndFlush(testTask2);
+
+            String listed = mockMvc.perform(get("/api/tasks")
+                    .with(TestConfig.mockUser()))
+                    .andReturn().getResponse().getContentAsString();
+
+            String streamed = mockMvc.perform(get("/api/tasks/stream")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(JSON))
+                    .andReturn().getResponse().getContentAsString();
+
+            assertEquals(objectMapper.readTree(listed), objectMapper.readTree(streamed));
+        }
+
+        @Test
+        @DisplayName("Should group several tags under one task")
+        void shouldGroupTagsByTask() throws Exception {
+            testTask1.addTag(workTag);
+            testTask1.addTag(personalTag);
+            taskRepository.saveAndFlush(testTask1);
+
+            mockMvc.perform(get("/api/tasks/stream")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].tags[*].name", contains("Personal", "Work")))
+                    .andExpect(jsonPath("$[1].tags", hasSize(0)));
+        }
+
+        @Test
+        @DisplayName("Should let admins stream another user's tasks")
+        void shouldLetAdminsStreamOtherUsersTasks() throws Exception {
+            mockMvc.perform(get("/api/tasks/user/{userId}/stream", otherUser.getId())
+                    .with(TestConfig.mockAdmin()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].title", is("Other user task")));
+        }
+
+        @Test
+        @DisplayName("Should return not found for an unknown user")
+        void shouldReturnNotFoundForUnknownUser() throws Exception {
+            mockMvc.perform(get("/api/tasks/user/{userId}/stream", 999999L)
+                    .with(TestConfig.mockAdmin()))
+                    .andExpect(status().isNotFound());
+        }
+    }
 }
\ No newline at end of file
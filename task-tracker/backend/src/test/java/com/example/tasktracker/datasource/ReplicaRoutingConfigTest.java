@@ -0,0 +1,110 @@
+package com.example.tasktracker.datasource;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.dto.TaskRequest;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Boots the application with an H2 database standing in for a replica and
+ * checks that JPA transactions pick the data source by their read-only flag.
+ */
+@DisplayName("Replica routing configuration tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=jdbc:h2:mem:replicadb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "app.datasource.replicas.lag-query=select 0",
+        "app.datasource.replicas.pool-size=2"
+})
+class ReplicaRoutingConfigTest extends BaseIntegrationTest {
+
+    private static final String READ = "com.example.tasktracker.service.TaskService.getAllTasks";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void probeReplicas() {
+        replicaLagMonitor.probe();
+    }
+
+    @Test
+    @DisplayName("Should expose the routing data source behind a lazy connection proxy")
+    void shouldWireRoutingDataSource() {
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+        assertInstanceOf(ReplicaRoutingDataSource.class, ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource());
+        assertTrue(replicaLagMonitor.isUsable(0));
+    }
+
+    @Test
+    @DisplayName("Should run read-only JPA transactions on the replica and the rest on the primary")
+    void shouldRouteJpaTransactions() {
+        assertEquals("replicadb", currentDatabase(READ, true));
+        assertEquals("testdb", currentDatabase(READ, false));
+        assertEquals("testdb", currentDatabase("com.example.tasktracker.service.AuthService.register", true));
+    }
+
+    @Test
+    @DisplayName("Should keep bootstrap reads on the primary right after the user's write")
+    void shouldReadOwnWritesInBootstrap() throws Exception {
+        User owner = userRepository.save(new User("replicauser", "{noop}password", "replicauser@gmail.com"));
+        try {
+            TaskRequest task = new TaskRequest();
+            task.setTitle("Just written");
+            mockMvc.perform(post("/api/tasks")
+                    .contentType(JSON)
+                    .content(toJson(task))
+                    .with(user("replicauser").roles("USER")))
+                    .andExpect(status().isCreated());
+
+            // The replica stand-in has no schema, so a lookup routed there would fail
+            mockMvc.perform(get("/api/bootstrap")
+                    .with(user("replicauser").roles("USER")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.tasks[0].title", is("Just written")))
+                    .andExpect(jsonPath("$.statusCounts.TODO", is(1)));
+        } finally {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.update("delete from tasks where user_id = ?", owner.getId());
+            jdbcTemplate.update("delete from users where id = ?", owner.getId());
+        }
+    }
+
+    private String currentDatabase(String transactionName, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(transactionName);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> new JdbcTemplate(dataSource).queryForObject("select database()", String.class));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.tasktracker.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes through a primary and two replicas, each its own in-memory H2
+ * database holding a row that names it.
+ */
+@DisplayName("Replica routing data source tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String TASK_SERVICE = "com.example.tasktracker.service.TaskService";
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(5);
+
+    private final AtomicLong now = new AtomicLong();
+    private DataSource primary;
+    private List<DataSource> replicas;
+    private ReplicaLagMonitor lagMonitor;
+    private ReadYourWritesTracker writeTracker;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replicas = List.of(database("replica-0"), database("replica-1"));
+        lagMonitor = new ReplicaLagMonitor(replicas, "select lag_seconds from node", 1000);
+        lagMonitor.probe();
+        writeTracker = new ReadYourWritesTracker(WINDOW, now::get);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, lagMonitor,
+                writeTracker, List.of(TASK_SERVICE));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (DataSource dataSource : List.of(primary, replicas.get(0), replicas.get(1))) {
+            new JdbcTemplate(dataSource).execute("drop all objects");
+        }
+    }
+
+    @Test
+    @DisplayName("Should send read-only service transactions to the replicas in turn")
+    void shouldRouteReadsToReplicas() {
+        assertEquals("replica-0", read(TASK_SERVICE + ".getAllTasks"));
+        assertEquals("replica-1", read(TASK_SERVICE + ".getAllTasks"));
+        assertEquals("replica-0", read(TASK_SERVICE + ".getTaskById"));
+    }
+
+    @Test
+    @DisplayName("Should keep writes, other services and plain statements on the primary")
+    void shouldKeepOtherWorkOnPrimary() {
+        assertEquals("primary", write(TASK_SERVICE + ".createTask"));
+        assertEquals("primary", read("com.example.tasktracker.service.AuthService.login"));
+        assertEquals("primary", jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    @Test
+    @DisplayName("Should skip replicas that lag beyond the tolerance")
+    void shouldSkipLaggingReplicas() {
+        new JdbcTemplate(replicas.get(0)).update("update node set lag_seconds = 30");
+        lagMonitor.probe();
+
+        assertEquals("replica-1", read(TASK_SERVICE + ".getAllTasks"));
+        assertEquals("replica-1", read(TASK_SERVICE + ".getAllTasks"));
+
+        new JdbcTemplate(replicas.get(1)).execute("drop table node");
+        lagMonitor.probe();
+
+        assertFalse(lagMonitor.isUsable(1));
+        assertEquals("primary", read(TASK_SERVICE + ".getAllTasks"));
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary right after they write")
+    void shouldReadYourWrites() {
+        authenticate("alice");
+        write(TASK_SERVICE + ".createTask");
+
+        assertEquals("primary", read(TASK_SERVICE + ".getAllTasks"));
+
+        authenticate("bob");
+        assertTrue(read(TASK_SERVICE + ".getAllTasks").startsWith("replica"));
+
+        authenticate("alice");
+        now.addAndGet(WINDOW);
+        assertTrue(read(TASK_SERVICE + ".getAllTasks").startsWith("replica"));
+    }
+
+    @Test
+    @DisplayName("Should not stick to the primary after a rolled back write")
+    void shouldIgnoreRolledBackWrites() {
+        authenticate("alice");
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(TASK_SERVICE + ".createTask");
+        template.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("select name from node", String.class);
+            status.setRollbackOnly();
+        });
+
+        assertTrue(read(TASK_SERVICE + ".getAllTasks").startsWith("replica"));
+    }
+
+    @Test
+    @DisplayName("Should forget expired writes when pruned")
+    void shouldPruneExpiredWrites() {
+        writeTracker.recordWrite("alice");
+        now.addAndGet(WINDOW / 2);
+        writeTracker.recordWrite("bob");
+        now.addAndGet(WINDOW / 2);
+
+        writeTracker.prune();
+
+        assertEquals(1, writeTracker.size());
+        assertTrue(writeTracker.isSticky("bob"));
+    }
+
+    private String read(String transactionName) {
+        return inTransaction(transactionName, true);
+    }
+
+    private String write(String transactionName) {
+        return inTransaction(transactionName, false);
+    }
+
+    private String inTransaction(String transactionName, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setName(transactionName);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(20), lag_seconds double)");
+        jdbc.update("insert into node values (?, 0)", name);
+        return dataSource;
+    }
+}
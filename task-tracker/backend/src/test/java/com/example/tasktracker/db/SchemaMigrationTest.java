@@ -0,0 +1,91 @@
+package com.example.tasktracker.db;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Flyway schema migration tests")
+class SchemaMigrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Should apply every migration to an empty database")
+    void shouldApplyAllMigrations() {
+        assertEquals(0, flyway.info().pending().length);
+        for (MigrationInfo migration : flyway.info().applied()) {
+            assertTrue(migration.getState().isApplied(), migration.getScript());
+        }
+    }
+
+    @Test
+    @DisplayName("Should create the per-user lookup indexes")
+    void shouldCreateLookupIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "select lower(index_name) from information_schema.indexes", String.class);
+
+        assertTrue(indexes.containsAll(List.of("idx_tasks_user_status_rank", "idx_tasks_user_updated_at",
+                "idx_task_tags_tag_id", "idx_tags_user_name")), indexes.toString());
+        // Covered by the ranked board index
+        assertFalse(indexes.contains("idx_tasks_user_status"), indexes.toString());
+    }
+
+    @Test
+    @DisplayName("Should baseline a database created by ddl-auto=update and migrate it forward")
+    void shouldBaselineExistingDatabase() {
+        DataSource legacy = new DriverManagerDataSource(
+                "jdbc:h2:mem:legacy;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        // What the old Hibernate update left behind: tables, no history, varchar descriptions
+        legacyJdbc.execute("create table users (id bigint generated by default as identity primary key, "
+                + "username varchar(50) not null unique)");
+        legacyJdbc.execute("create table profiles (id bigint generated by default as identity primary key, "
+                + "user_id bigint unique references users)");
+        legacyJdbc.execute("create table tags (id bigint generated by default as identity primary key, "
+                + "name varchar(50) not null, user_id bigint not null references users, unique (name, user_id))");
+        legacyJdbc.execute("create table tasks (id bigint generated by default as identity primary key, "
+                + "description varchar(255), status varchar(255), updated_at timestamp(6), user_id bigint references users)");
+        legacyJdbc.execute("create table task_tags (task_id bigint not null references tasks, "
+                + "tag_id bigint not null references tags, primary key (task_id, tag_id))");
+        legacyJdbc.update("insert into users (id, username) values (7, 'legacy')");
+        legacyJdbc.update("insert into tasks (id, status, user_id) values (3, 'TODO', 7), (1, 'TODO', 7), (2, 'DONE', 7)");
+        try {
+            Flyway.configure()
+                    .dataSource(legacy)
+                    .locations("classpath:db/migration", "classpath:com/example/tasktracker/db/migration")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+
+            // H2 in PostgreSQL mode reads text as an unbounded varchar
+            assertTrue(legacyJdbc.queryForObject("select character_maximum_length from information_schema.columns "
+                    + "where table_name = 'tasks' and column_name = 'description'", Long.class) > 255);
+            // Sequences continue after the ids handed out by the old identity columns
+            assertEquals(8L, legacyJdbc.queryForObject("select next value for users_seq", Long.class));
+            // Existing tasks are ranked in creation order within each column
+            assertEquals(List.of(1L, 3L), legacyJdbc.queryForList(
+                    "select id from tasks where status = 'TODO' order by rank", Long.class));
+            assertEquals(0, legacyJdbc.queryForObject("select count(*) from tasks where rank is null", Integer.class));
+            assertEquals(1, legacyJdbc.queryForObject(
+                    "select count(*) from information_schema.indexes where index_name = 'idx_task_tags_tag_id'",
+                    Integer.class));
+        } finally {
+            legacyJdbc.execute("drop all objects");
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.tasktracker.db;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.dto.TagRequest;
+import com.example.tasktracker.dto.TaskField;
+import com.example.tasktracker.dto.TaskMoveRequest;
+import com.example.tasktracker.dto.TaskRequest;
+import com.example.tasktracker.entity.TaskStatus;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import com.example.tasktracker.service.TagService;
+import com.example.tasktracker.service.TaskService;
+import com.example.tasktracker.service.TaskStreamingService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the task paths against PostgreSQL with tasks and task_tags split into
+ * hash partitions, and checks through EXPLAIN that every statement on them
+ * reads or writes a single partition. Needs a database to clean and migrate:
+ * run with {@code -Dpostgres.url=jdbc:postgresql://host:port/db} (and
+ * {@code -Dpostgres.username}/{@code -Dpostgres.password} if needed); the
+ * test works in its own schema.
+ */
+@DisplayName("Task partition pruning tests (PostgreSQL)")
+@EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+@TestPropertySource(properties = {
+        "spring.datasource.url=${postgres.url}",
+        "spring.datasource.username=${postgres.username:postgres}",
+        "spring.datasource.password=${postgres.password:}",
+        "spring.datasource.driver-class-name=org.postgresql.Driver",
+        "spring.datasource.hikari.schema=partition_test",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.schemas=partition_test",
+        "spring.flyway.clean-disabled=false",
+        "app.tasks.partitioning.partitions=4",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class TaskPartitionPruningTest extends BaseIntegrationTest {
+
+    @Autowired
+    private PlanRecorder planRecorder;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private TaskStreamingService taskStreamingService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private Long tagId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUpTestData() {
+        owner = userRepository.save(new User("partitionowner", "{noop}password", "partitionowner@gmail.com"));
+        User other = userRepository.save(new User("partitionother", "{noop}password", "partitionother@gmail.com"));
+        for (User user : List.of(owner, other)) {
+            TagRequest tag = new TagRequest();
+            tag.setName("Work");
+            tag.setColor("#123456");
+            Long userTagId = tagService.createTag(tag, user.getId()).getId();
+            for (int i = 0; i < 3; i++) {
+                TaskRequest task = new TaskRequest();
+                task.setTitle("Task " + i);
+                task.setDescription("Description " + i);
+                task.setTagIds(List.of(userTagId));
+                Long id = taskService.createTask(task, user.getId()).getId();
+                if (user == owner) {
+                    tagId = userTagId;
+                    taskId = id;
+                }
+            }
+        }
+        planRecorder.clear();
+    }
+
+    @Test
+    @DisplayName("Should split tasks and task_tags into the configured number of partitions")
+    void shouldPartitionTaskTables() {
+        for (String table : List.of("tasks", "task_tags")) {
+            assertEquals(4, jdbcTemplate.queryForObject(
+                    "select count(*) from pg_inherits where inhparent = to_regclass(?)", Integer.class, table));
+        }
+    }
+
+    @Test
+    @DisplayName("Should touch a single partition on every task read and write")
+    void shouldPruneToOwnersPartition() throws Exception {
+        Long userId = owner.getId();
+        taskService.getAllTasks(userId);
+        taskService.getAllTasks(userId, EnumSet.allOf(TaskField.class));
+        taskService.getAllTasksNormalized(userId);
+        taskService.getTaskPage(userId, PageRequest.of(0, 2));
+        taskService.getStatusCounts(userId);
+        taskService.getTaskById(taskId, userId);
+        taskService.searchTasks("task", userId);
+        taskService.searchTasksNormalized("description", userId);
+        taskRepository.findByUserAndStatus(owner, TaskStatus.TODO);
+        taskRepository.findByUserAndTitleContainingIgnoreCaseOrUserAndDescriptionContainingIgnoreCase(
+                owner, "task", owner, "task");
+        taskStreamingService.streamTasks(userId, new ByteArrayOutputStream());
+
+        TaskRequest update = new TaskRequest();
+        update.setTitle("Renamed");
+        update.setStatus(TaskStatus.DONE);
+        taskService.updateTask(taskId, update, userId);
+        Long neighbourId = taskRepository.findByUserAndStatus(owner, TaskStatus.TODO).get(0).getId();
+        taskService.moveTask(taskId, new TaskMoveRequest(TaskStatus.TODO, null, neighbourId), userId);
+        taskService.moveTask(taskId, new TaskMoveRequest(TaskStatus.TODO, neighbourId, null), userId);
+        taskService.moveTask(taskId, new TaskMoveRequest(TaskStatus.IN_PROGRESS, null, null), userId);
+        taskService.getBoard(userId);
+        taskService.deleteTask(taskId, userId);
+        taskService.restoreTask(taskId, userId);
+        taskService.deleteTask(taskId, userId);
+        taskService.getDeletedTasks(userId, LocalDateTime.now().minusHours(1));
+        tagService.deleteTag(tagId, userId);
+        tagService.restoreTag(tagId, userId);
+
+        List<PlanRecorder.Plan> plans = planRecorder.plans();
+        assertTrue(plans.stream().anyMatch(plan -> plan.partitions().containsKey("tasks")), "no task plans recorded");
+        assertTrue(plans.stream().anyMatch(plan -> plan.partitions().containsKey("task_tags")), "no link plans recorded");
+        for (PlanRecorder.Plan plan : plans) {
+            for (Set<String> partitions : plan.partitions().values()) {
+                assertTrue(partitions.size() <= 1, partitions + " scanned by: " + plan.sql());
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class PruningTestConfig {
+
+        @Bean
+        FlywayMigrationStrategy cleanMigrateStrategy() {
+            return flyway -> {
+                flyway.clean();
+                flyway.migrate();
+            };
+        }
+
+        @Bean
+        static PlanRecorder planRecorder() {
+            return new PlanRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor planRecordingDataSource(PlanRecorder planRecorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? planRecorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    /**
+     * Explains each statement on the task tables, with its parameters, on the
+     * connection that is about to run it, and keeps the partitions the plan names
+     */
+    static class PlanRecorder {
+
+        private static final Pattern EXPLAINABLE = Pattern.compile("\\s*(select|update|delete|with)\\b",
+                Pattern.CASE_INSENSITIVE);
+        private static final Pattern TASK_TABLES = Pattern.compile("\\b(tasks|task_tags)\\b");
+        private static final Pattern PARTITION = Pattern.compile("(tasks|task_tags)_p\\d+");
+
+        record Plan(String sql, Map<String, Set<String>> partitions) {
+        }
+
+        private record Parameter(Method setter, Object[] args) {
+        }
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final List<Plan> plans = new CopyOnWriteArrayList<>();
+
+        List<Plan> plans() {
+            return List.copyOf(plans);
+        }
+
+        void clear() {
+            plans.clear();
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return recording(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return recording(super.getConnection(username, password));
+                }
+            };
+        }
+
+        private Connection recording(Connection connection) {
+            return proxy(Connection.class, connection, (proxy, method, args) -> {
+                Object result = invoke(connection, method, args);
+                if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                    return recording(connection, (String) args[0], statement);
+                }
+                return result;
+            });
+        }
+
+        private PreparedStatement recording(Connection connection, String sql, PreparedStatement statement) {
+            Map<Integer, Parameter> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, new Parameter(method, args));
+                } else if (name.equals("clearParameters")) {
+                    parameters.clear();
+                } else if (args == null && (name.equals("addBatch") || name.startsWith("execute"))) {
+                    explain(connection, sql, parameters.values());
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private void explain(Connection connection, String sql, Collection<Parameter> parameters) throws Exception {
+            if (!EXPLAINABLE.matcher(sql).lookingAt() || !TASK_TABLES.matcher(sql).find()) {
+                return;
+            }
+            try (PreparedStatement explain = connection.prepareStatement("explain (format json) " + sql)) {
+                for (Parameter parameter : parameters) {
+                    parameter.setter().invoke(explain, parameter.args());
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    Map<String, Set<String>> partitions = new HashMap<>();
+                    collectPartitions(objectMapper.readTree(resultSet.getString(1)), partitions);
+                    plans.add(new Plan(sql, partitions));
+                }
+            }
+        }
+
+        private static void collectPartitions(JsonNode node, Map<String, Set<String>> partitions) {
+            JsonNode relation = node.get("Relation Name");
+            if (relation != null) {
+                Matcher matcher = PARTITION.matcher(relation.asText());
+                if (matcher.matches()) {
+                    partitions.computeIfAbsent(matcher.group(1), table -> new TreeSet<>()).add(relation.asText());
+                }
+            }
+            for (JsonNode child : node) {
+                collectPartitions(child, partitions);
+            }
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.tasktracker.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports storage saved against CPU spent for description compression on
+ * log-like and prose-like text of several sizes, to pick
+ * {@code app.tasks.description-compression.threshold}. Not part of the
+ * regular build; run with:
+ * <pre>mvn test -Dtest=CompressedTextBenchmarkTest -Dbenchmark=true</pre>
+ */
+@DisplayName("Description compression benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CompressedTextBenchmarkTest {
+
+    private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final int[] SIZES = {1024, 4 * 1024, 16 * 1024, 128 * 1024};
+
+    @Test
+    @DisplayName("Should report ratio and throughput per corpus and size")
+    void reportRatioAndThroughput() {
+        System.out.printf("%-6s %8s %8s %10s %12s %12s%n",
+                "corpus", "bytes", "stored", "saved", "encode MB/s", "decode MB/s");
+        for (int size : SIZES) {
+            report("log", logText(size));
+            report("prose", proseText(size));
+        }
+    }
+
+    private static void report(String corpus, String text) {
+        int bytes = text.getBytes(StandardCharsets.UTF_8).length;
+        String stored = CompressedText.encode(text, 0);
+        int storedBytes = stored.getBytes(StandardCharsets.UTF_8).length;
+
+        double encodeRate = measure(() -> CompressedText.encode(text, 0)) * bytes / 1e6;
+        double decodeRate = measure(() -> CompressedText.decode(stored)) * bytes / 1e6;
+        System.out.printf("%-6s %8d %8d %9.1f%% %12.1f %12.1f%n", corpus, bytes, storedBytes,
+                100.0 * (bytes - storedBytes) / bytes, encodeRate, decodeRate);
+    }
+
+    private static double measure(Runnable op) {
+        for (int i = 0; i < 200; i++) {
+            op.run();
+        }
+        long start = System.nanoTime();
+        long operations = 0;
+        long elapsed;
+        do {
+            op.run();
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return operations * 1e9 / elapsed;
+    }
+
+    private static String logText(int size) {
+        Random random = new Random(1);
+        String[] levels = {"INFO ", "WARN ", "DEBUG", "ERROR"};
+        StringBuilder text = new StringBuilder(size + 128);
+        while (text.length() < size) {
+            text.append(String.format("2024-05-01 12:%02d:%02d.%03d %s [http-nio-8080-exec-%d] c.e.t.service.TaskService "
+                            + ": Handled request %d for user %d in %d ms%n",
+                    random.nextInt(60), random.nextInt(60), random.nextInt(1000), levels[random.nextInt(4)],
+                    random.nextInt(200), random.nextInt(1_000_000), random.nextInt(5000), random.nextInt(900)));
+        }
+        return text.substring(0, size);
+    }
+
+    private static String proseText(int size) {
+        Random random = new Random(2);
+        String[] words = ("the task should be updated when the user changes its status and the board "
+                + "must reflect every change without reloading while tags stay sorted by name and "
+                + "descriptions keep their formatting including lists code blocks and links").split(" ");
+        StringBuilder text = new StringBuilder(size + 16);
+        while (text.length() < size) {
+            text.append(words[random.nextInt(words.length)]).append(random.nextInt(12) == 0 ? ".\n" : " ");
+        }
+        return text.substring(0, size);
+    }
+}
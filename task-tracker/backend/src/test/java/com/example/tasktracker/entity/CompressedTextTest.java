@@ -0,0 +1,75 @@
+package com.example.tasktracker.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompressedText format tests")
+class CompressedTextTest {
+
+    private static final int THRESHOLD = 1024;
+
+    @Test
+    @DisplayName("Should compress long repetitive text and restore it")
+    void shouldRoundTripLongText() {
+        String log = "2024-05-01 12:00:00 INFO  Request handled in 12 ms\n".repeat(100);
+
+        String stored = CompressedText.encode(log, THRESHOLD);
+
+        assertTrue(CompressedText.isCompressed(stored));
+        assertTrue(stored.length() < log.length() / 5, "stored " + stored.length() + " chars");
+        assertEquals(log, CompressedText.decode(stored));
+    }
+
+    @Test
+    @DisplayName("Should keep short text as it is")
+    void shouldKeepShortTextPlain() {
+        assertEquals("Finish the report", CompressedText.encode("Finish the report", THRESHOLD));
+        assertEquals("", CompressedText.encode("", THRESHOLD));
+        assertNull(CompressedText.encode(null, THRESHOLD));
+        assertNull(CompressedText.decode(null));
+    }
+
+    @Test
+    @DisplayName("Should keep text that does not get smaller")
+    void shouldKeepIncompressibleTextPlain() {
+        Random random = new Random(42);
+        StringBuilder noise = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            noise.append((char) ('!' + random.nextInt(90)));
+        }
+
+        String stored = CompressedText.encode(noise.toString(), THRESHOLD);
+
+        assertFalse(CompressedText.isCompressed(stored));
+        assertEquals(noise.toString(), stored);
+    }
+
+    @Test
+    @DisplayName("Should escape plain text that starts with the marker")
+    void shouldEscapeMarkerPrefixedText() {
+        String tricky = CompressedText.MARKER + "1 not compressed";
+
+        String stored = CompressedText.encode(tricky, THRESHOLD);
+
+        assertNotEquals(tricky, stored);
+        assertEquals(tricky, CompressedText.decode(stored));
+    }
+
+    @Test
+    @DisplayName("Should read rows written before compression unchanged")
+    void shouldReadLegacyRows() {
+        String legacy = "Plain description ".repeat(100);
+
+        assertEquals(legacy, CompressedText.decode(legacy));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats")
+    void shouldRejectUnknownFormats() {
+        assertThrows(IllegalArgumentException.class, () -> CompressedText.decode(CompressedText.MARKER + "9abc"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.tasktracker.entity;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.repository.TagRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares detaching a tag from its tasks by scanning every task of the owner
+ * against loading only the tasks that carry it, and reports statements,
+ * entity loads and time for both. Not part of the regular build; run with:
+ * <pre>mvn test -Dtest=EntityIdentityBenchmarkTest -Dbenchmark=true</pre>
+ */
+@DisplayName("Tag detach benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class EntityIdentityBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int TASKS = 1000;
+    private static final int TAGGED = 10;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should detach a tag without loading untagged tasks")
+    void compareDetachStrategies() {
+        User user = userRepository.save(new User("benchuser", "{noop}password", "benchuser@gmail.com"));
+        Tag scanned = tagRepository.save(new Tag("Scanned", user));
+        Tag targeted = tagRepository.save(new Tag("Targeted", user));
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setUser(user);
+            if (i % (TASKS / TAGGED) == 0) {
+                task.addTag(scanned);
+                task.addTag(targeted);
+            }
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Result scan = measure(statistics, () -> {
+            Tag tag = entityManager.find(Tag.class, scanned.getId());
+            for (Task task : taskRepository.findByUser(user)) {
+                if (task.getTags().contains(tag)) {
+                    task.removeTag(tag);
+                }
+            }
+        });
+        Result byTag = measure(statistics, () -> {
+            Tag tag = entityManager.find(Tag.class, targeted.getId());
+            for (Task task : taskRepository.findByUserIdAndTagsId(user.getId(), tag.getId())) {
+                task.removeTag(tag);
+            }
+        });
+
+        System.out.printf("scan all tasks:    %d statements, %d task loads, %.1f ms%n",
+                scan.statements, scan.taskLoads, scan.millis);
+        System.out.printf("tasks with tag:    %d statements, %d task loads, %.1f ms%n",
+                byTag.statements, byTag.taskLoads, byTag.millis);
+
+        assertEquals(TAGGED, byTag.taskLoads);
+        assertTrue(byTag.statements < scan.statements);
+    }
+
+    private Result measure(Statistics statistics, Runnable detach) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        long start = System.nanoTime();
+        detach.run();
+        entityManager.flush();
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        return new Result(statistics.getPrepareStatementCount(),
+                statistics.getEntityStatistics(Task.class.getName()).getLoadCount(), millis);
+    }
+
+    private record Result(long statements, long taskLoads, double millis) {
+    }
+}
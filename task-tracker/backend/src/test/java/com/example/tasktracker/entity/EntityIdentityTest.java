@@ -0,0 +1,142 @@
+package com.example.tasktracker.entity;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.repository.TagRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import com.example.tasktracker.service.TagService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Entity identity tests")
+class EntityIdentityTest extends BaseIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUpTestData() {
+        user = userRepository.save(new User("identityuser", "{noop}password", "identityuser@gmail.com"));
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("Should keep the hash code when the id is assigned on persist")
+    void shouldKeepHashCodeAcrossPersist() {
+        Tag tag = new Tag("Work", user);
+        Set<Tag> tags = new HashSet<>();
+        tags.add(tag);
+
+        tagRepository.saveAndFlush(tag);
+
+        assertNotNull(tag.getId());
+        assertTrue(tags.contains(tag));
+
+        Task task = new Task();
+        task.setTitle("Unsaved");
+        task.setUser(user);
+        task.getTags().add(tag);
+        Set<Task> tasks = new HashSet<>();
+        tasks.add(task);
+
+        taskRepository.saveAndFlush(task);
+
+        assertNotNull(task.getId());
+        assertTrue(tasks.contains(task));
+        assertTrue(task.getTags().contains(tag));
+    }
+
+    @Test
+    @DisplayName("Should compare by id only")
+    void shouldCompareById() {
+        Tag first = tagRepository.save(new Tag("First", user));
+        Tag copy = new Tag("Renamed", "#000000", user);
+        copy.setId(first.getId());
+
+        assertEquals(first, copy);
+        assertNotEquals(first, tagRepository.save(new Tag("Second", user)));
+        assertNotEquals(new Tag("Third", user), new Tag("Third", user));
+    }
+
+    @Test
+    @DisplayName("Should not load associations or run SQL for set operations")
+    void shouldNotTouchAssociationsInSetOperations() {
+        Tag work = tagRepository.save(new Tag("Work", user));
+        Tag home = tagRepository.save(new Tag("Home", user));
+        Task task = new Task();
+        task.setTitle("Tagged");
+        task.setUser(user);
+        task.addTag(work);
+        task.addTag(home);
+        task = taskRepository.save(task);
+        entityManager.flush();
+        entityManager.clear();
+
+        Task loaded = taskRepository.findById(task.getId()).orElseThrow();
+        Set<Tag> tags = loaded.getTags();
+        Hibernate.initialize(tags);
+        Tag loadedWork = entityManager.find(Tag.class, work.getId());
+
+        long statements = statistics.getPrepareStatementCount();
+        assertTrue(tags.contains(loadedWork));
+        assertTrue(tags.contains(entityManager.getReference(Tag.class, home.getId())));
+        assertTrue(loaded.toString().contains("Tagged"));
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertFalse(Hibernate.isInitialized(loaded.getUser()));
+        assertFalse(Hibernate.isInitialized(loadedWork.getUser()));
+        assertFalse(Hibernate.isPropertyInitialized(loaded, "description"));
+    }
+
+    @Test
+    @DisplayName("Should not load the tasks carrying a tag when deleting it")
+    void shouldNotLoadTaggedTasksOnDelete() {
+        Tag tag = tagRepository.save(new Tag("Doomed", user));
+        for (int i = 0; i < 10; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setUser(user);
+            if (i == 3) {
+                task.addTag(tag);
+            }
+            taskRepository.save(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        long tasksLoaded = statistics.getEntityStatistics(Task.class.getName()).getLoadCount();
+
+        tagService.deleteTag(tag.getId(), user.getId());
+        entityManager.flush();
+
+        // Only a tombstone: the links stay until the tag is purged
+        assertEquals(0, statistics.getEntityStatistics(Task.class.getName()).getLoadCount() - tasksLoaded);
+        assertTrue(taskRepository.findByUserIdAndTagsId(user.getId(), tag.getId()).isEmpty());
+        assertFalse(tagRepository.existsById(tag.getId()));
+    }
+}
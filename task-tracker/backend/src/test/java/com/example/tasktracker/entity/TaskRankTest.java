@@ -0,0 +1,99 @@
+package com.example.tasktracker.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskRank tests")
+class TaskRankTest {
+
+    @Test
+    @DisplayName("Should find a rank strictly between any two ranks")
+    void shouldFindRankBetween() {
+        Random random = new Random(42);
+        List<String> ranks = new ArrayList<>(List.of(TaskRank.MIDDLE));
+        for (int i = 0; i < 2000; i++) {
+            // Insert at random positions, including both ends
+            int index = random.nextInt(ranks.size() + 1);
+            String lower = index > 0 ? ranks.get(index - 1) : null;
+            String upper = index < ranks.size() ? ranks.get(index) : null;
+
+            String rank = TaskRank.between(lower, upper);
+
+            assertTrue(lower == null || lower.compareTo(rank) < 0, lower + " < " + rank);
+            assertTrue(upper == null || rank.compareTo(upper) < 0, rank + " < " + upper);
+            ranks.add(index, rank);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep ranks short when appending or prepending over and over")
+    void shouldStayShortAtEitherEnd() {
+        String last = TaskRank.MIDDLE;
+        String first = TaskRank.MIDDLE;
+        for (int i = 0; i < 10_000; i++) {
+            String next = TaskRank.between(last, null);
+            String previous = TaskRank.between(null, first);
+
+            assertTrue(last.compareTo(next) < 0, last + " < " + next);
+            assertTrue(previous.compareTo(first) < 0, previous + " < " + first);
+            last = next;
+            first = previous;
+        }
+        // 10k is below 36^3, so the integer part has at most three digits
+        assertTrue(last.length() <= 4, last);
+        assertTrue(first.length() <= 4, first);
+    }
+
+    @Test
+    @DisplayName("Should never end a fraction in zero")
+    void shouldNotEndFractionInZero() {
+        String lower = "i0";
+        for (int i = 0; i < 200; i++) {
+            String rank = TaskRank.between(lower, "i1");
+            assertFalse(rank.substring(2).endsWith("0"), rank);
+            lower = rank;
+        }
+    }
+
+    @Test
+    @DisplayName("Should add at most one digit per insert into the same gap")
+    void shouldGrowSlowlyInSameGap() {
+        String lower = "i1";
+        String upper = "i2";
+        for (int i = 0; i < 30; i++) {
+            upper = TaskRank.between(lower, upper);
+        }
+        assertTrue(upper.length() <= 32, upper);
+    }
+
+    @Test
+    @DisplayName("Should reject bounds out of order")
+    void shouldRejectBoundsOutOfOrder() {
+        assertThrows(IllegalArgumentException.class, () -> TaskRank.between("i2", "i1"));
+        assertThrows(IllegalArgumentException.class, () -> TaskRank.between("i1", "i1"));
+    }
+
+    @Test
+    @DisplayName("Should spread short, increasing ranks with room between them")
+    void shouldSpreadRanks() {
+        assertTrue(TaskRank.spread(0).isEmpty());
+        for (int count : new int[]{1, 36, 37, 1000}) {
+            List<String> ranks = TaskRank.spread(count);
+
+            assertEquals(count, ranks.size());
+            for (int i = 1; i < count; i++) {
+                assertTrue(ranks.get(i - 1).compareTo(ranks.get(i)) < 0, ranks.toString());
+                // A move between two spread ranks adds one digit
+                String between = TaskRank.between(ranks.get(i - 1), ranks.get(i));
+                assertEquals(ranks.get(i - 1).length() + 1, between.length(), between);
+            }
+        }
+        assertTrue(TaskRank.spread(1000).get(999).length() <= 3);
+    }
+}
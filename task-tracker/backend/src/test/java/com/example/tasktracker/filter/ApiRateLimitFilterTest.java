@@ -0,0 +1,120 @@
+package com.example.tasktracker.filter;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.service.UserPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Budgets come from application-test.properties: search allows a burst of 3
+ * and refills slowly. Each test uses its own username, since the buckets live
+ * for the whole test context.
+ */
+@DisplayName("ApiRateLimitFilter tests")
+class ApiRateLimitFilterTest extends BaseIntegrationTest {
+
+    @Autowired
+    private FilterRegistrationBean<ApiRateLimitFilter> apiRateLimitFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc rateLimitedMockMvc;
+
+    @BeforeEach
+    void setUpFilter() {
+        rateLimitedMockMvc = MockMvcBuilders
+                .webAppContextSetup(webApplicationContext)
+                .apply(springSecurity())
+                .addFilter(apiRateLimitFilter.getFilter(), "/api/*")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return 429 with Retry-After once the search budget is spent")
+    void shouldRejectSearchOverBudget() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            rateLimitedMockMvc.perform(get("/api/tasks/search").param("q", "x")
+                    .with(user("search-heavy").roles("USER")))
+                    .andExpect(status().is(not(429)));
+        }
+
+        rateLimitedMockMvc.perform(get("/api/tasks/search").param("q", "x")
+                .with(user("search-heavy").roles("USER")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status", is(429)));
+
+        assertTrue(meterRegistry.get("api.ratelimit.requests")
+                .tag("route", "search").tag("result", "rejected").counter().count() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should keep the read budget separate from the search budget")
+    void shouldKeepBudgetsSeparate() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            rateLimitedMockMvc.perform(get("/api/tasks/search").param("q", "x")
+                    .with(user("mixed-client").roles("USER")));
+        }
+
+        rateLimitedMockMvc.perform(get("/api/tags")
+                .with(user("mixed-client").roles("USER")))
+                .andExpect(status().is(not(429)));
+    }
+
+    @Test
+    @DisplayName("Should not let one user's traffic affect another user")
+    void shouldIsolateUsers() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            rateLimitedMockMvc.perform(get("/api/tasks/search").param("q", "x")
+                    .with(user("noisy-client").roles("USER")));
+        }
+
+        rateLimitedMockMvc.perform(get("/api/tasks/search").param("q", "x")
+                .with(user("quiet-client").roles("USER")))
+                .andExpect(status().is(not(429)));
+    }
+
+    @Test
+    @DisplayName("Should keep budgets apart for usernames with the same String hash")
+    void shouldIsolateCollidingUsernames() throws Exception {
+        // "Aa" and "BB" share a String.hashCode
+        for (int i = 0; i < 4; i++) {
+            rateLimitedMockMvc.perform(get("/api/tasks/search").param("q", "x")
+                    .with(principal(1_000_001, "Aa")));
+        }
+        rateLimitedMockMvc.perform(get("/api/tasks/search").param("q", "x")
+                .with(principal(1_000_002, "BB")))
+                .andExpect(status().is(not(429)));
+
+        // Principals without an id fall back to a seeded hash of the name
+        for (int i = 0; i < 4; i++) {
+            rateLimitedMockMvc.perform(get("/api/tasks/search").param("q", "x")
+                    .with(user("AaAa").roles("USER")));
+        }
+        rateLimitedMockMvc.perform(get("/api/tasks/search").param("q", "x")
+                .with(user("BBBB").roles("USER")))
+                .andExpect(status().is(not(429)));
+    }
+
+    private static RequestPostProcessor principal(long id, String username) {
+        return user(new UserPrincipal(id, username, "password", true, true, true, true,
+                AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.tasktracker.filter;
+
+import com.example.tasktracker.ratelimit.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ConcurrencyLimitFilter tests")
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Room for one normal request plus one reserved admin slot
+        limiter = new AdaptiveConcurrencyLimiter(2, 2, 10, 1, TimeUnit.SECONDS.toNanos(1), 0.9);
+        filter = new ConcurrencyLimitFilter(limiter, meterRegistry, new ObjectMapper());
+    }
+
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should serve a request and give its slot back")
+    void shouldServeWithinLimit() throws Exception {
+        MockHttpServletResponse response = perform("/api/tasks");
+
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should shed a normal request with 503 when the limit is reached")
+    void shouldShedAboveLimit() throws Exception {
+        assertTrue(limiter.tryAcquire(false));
+
+        MockHttpServletResponse response = perform("/api/tasks");
+
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertTrue(response.getContentAsString().contains("\"status\":503"));
+        assertEquals(1.0, meterRegistry.get("api.concurrency.rejected").tag("priority", "false").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should still admit admin requests into the reserved headroom")
+    void shouldAdmitAdminIntoReserve() throws Exception {
+        assertTrue(limiter.tryAcquire(false));
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER")));
+
+        assertEquals(200, perform("/api/admin/users").getStatus());
+        assertEquals(2.0, meterRegistry.get("api.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should not let non-admin callers into the reserve through admin routes")
+    void shouldNotAdmitNonAdminsIntoReserve() throws Exception {
+        assertTrue(limiter.tryAcquire(false));
+
+        assertEquals(503, perform("/api/admin/users").getStatus());
+
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "user", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+        assertEquals(503, perform("/api/admin/users").getStatus());
+        assertEquals(2.0, meterRegistry.get("api.concurrency.rejected").tag("priority", "false").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should not cut the limit for slow logins or streams")
+    void shouldNotSampleLoginsOrStreams() throws Exception {
+        limiter = new AdaptiveConcurrencyLimiter(10, 2, 10, 1, TimeUnit.MILLISECONDS.toNanos(1), 0.5);
+        filter = new ConcurrencyLimitFilter(limiter, new SimpleMeterRegistry(), new ObjectMapper());
+
+        assertEquals(200, perform("/api/auth/login", 5).getStatus());
+        assertEquals(200, perform("/api/tasks/stream", 5).getStatus());
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+
+        perform("/api/tasks", 5);
+        assertEquals(5, limiter.getLimit());
+    }
+
+    private MockHttpServletResponse perform(String uri) throws Exception {
+        return perform(uri, 0);
+    }
+
+    private MockHttpServletResponse perform(String uri, long delayMillis) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        return response;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.tasktracker.filter;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.dto.LoginRequest;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The shared sketch lives for the whole test context, so every test uses its
+ * own username and client IP. Limits come from application-test.properties:
+ * 3 failures per username, 8 per IP.
+ */
+@DisplayName("LoginThrottleFilter tests")
+class LoginThrottleFilterTest extends BaseIntegrationTest {
+
+    private static final String PASSWORD = "pRH8F8cu@FYhRqG";
+
+    @Autowired
+    private FilterRegistrationBean<LoginThrottleFilter> loginThrottleFilter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private MockMvc throttledMockMvc;
+
+    @BeforeEach
+    void setUpFilter() {
+        throttledMockMvc = MockMvcBuilders
+                .webAppContextSetup(webApplicationContext)
+                .addFilter(loginThrottleFilter.getFilter(), "/api/auth/login")
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should block a username after repeated failures, even with the right password")
+    void shouldThrottleUsernameAfterFailures() throws Exception {
+        userRepository.save(new User("throttleuser", passwordEncoder.encode(PASSWORD), "throttleuser@gmail.com"));
+
+        for (int i = 0; i < 3; i++) {
+            login("throttleuser", "wrong-password", "10.1.0." + i)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        login("throttleuser", PASSWORD, "10.1.0.99")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status", is(429)))
+                .andExpect(jsonPath("$.timestamp", notNullValue()));
+    }
+
+    @Test
+    @DisplayName("Should block a client IP spraying many usernames")
+    void shouldThrottleIpAfterFailures() throws Exception {
+        for (int i = 0; i < 8; i++) {
+            login("spray-" + i, "wrong-password", "10.2.0.1").andExpect(status().isOk());
+        }
+
+        login("spray-next", "wrong-password", "10.2.0.1").andExpect(status().isTooManyRequests());
+        login("spray-next", "wrong-password", "10.2.0.2").andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should pass the request body through to the controller")
+    void shouldPassBodyThrough() throws Exception {
+        userRepository.save(new User("passthrough", passwordEncoder.encode(PASSWORD), "passthrough@gmail.com"));
+
+        login("passthrough", PASSWORD, "10.3.0.1")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.username", is("passthrough")));
+    }
+
+    private ResultActions login(String username, String password, String ip) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(username);
+        loginRequest.setPassword(password);
+
+        return throttledMockMvc.perform(post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(JSON)
+                .content(toJson(loginRequest)));
+    }
+}
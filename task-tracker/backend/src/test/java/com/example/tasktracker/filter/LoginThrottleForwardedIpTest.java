@@ -0,0 +1,64 @@
+package com.example.tasktracker.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs against the real Tomcat, whose RemoteIpValve resolves the client
+ * address; MockMvc would skip it. Requests come from 127.0.0.1, which counts
+ * as a trusted proxy like nginx in front of the backend.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@DisplayName("Login throttling behind a proxy")
+class LoginThrottleForwardedIpTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    @DisplayName("Should throttle the client from X-Forwarded-For rather than the proxy")
+    void shouldThrottleForwardedClient() throws Exception {
+        // 8 failures per IP in tests
+        for (int i = 0; i < 8; i++) {
+            assertEquals(200, login("spray-" + i, "203.0.113.7"));
+        }
+
+        assertEquals(429, login("spray-next", "203.0.113.7"));
+        // Another client behind the same proxy is not affected
+        assertEquals(200, login("spray-next", "203.0.113.8"));
+    }
+
+    @Test
+    @DisplayName("Should ignore addresses a client prepends to X-Forwarded-For")
+    void shouldIgnoreSpoofedForwardedFor() throws Exception {
+        // nginx appends the address it sees, so only the last entry is trustworthy
+        for (int i = 0; i < 8; i++) {
+            assertEquals(200, login("spoof-" + i, "198.51.100." + i + ", 203.0.113.9"));
+        }
+
+        assertEquals(429, login("spoof-next", "198.51.100.99, 203.0.113.9"));
+    }
+
+    private int login(String username, String forwardedFor) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .header("X-Forwarded-For", forwardedFor)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"wrong-password\"}"))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
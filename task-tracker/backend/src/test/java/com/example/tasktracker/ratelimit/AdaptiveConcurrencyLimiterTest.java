@@ -0,0 +1,102 @@
+package com.example.tasktracker.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initial) {
+        return new AdaptiveConcurrencyLimiter(initial, 4, 100, 2, TARGET, 0.5, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should reject normal requests above the limit minus the reserve")
+    void shouldRejectAboveLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 8; i++) {
+            assertTrue(limiter.tryAcquire(false));
+        }
+        assertFalse(limiter.tryAcquire(false));
+
+        // Priority requests may use the reserved headroom, but not beyond it
+        assertTrue(limiter.tryAcquire(true));
+        assertTrue(limiter.tryAcquire(true));
+        assertFalse(limiter.tryAcquire(true));
+    }
+
+    @Test
+    @DisplayName("Should grow the limit while fast requests keep it busy")
+    void shouldIncreaseWhenFastAndBusy() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int round = 0; round < 50; round++) {
+            int slots = 0;
+            while (limiter.tryAcquire(false)) {
+                slots++;
+            }
+            for (int i = 0; i < slots; i++) {
+                limiter.release(FAST);
+            }
+        }
+
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit while it is mostly unused")
+    void shouldNotIncreaseWhenIdle() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(FAST);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should cut the limit on slow requests, at most once per cooldown")
+    void shouldDecreaseOnSlowRequests() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(false);
+            limiter.release(SLOW);
+        }
+        assertEquals(20, limiter.getLimit());
+
+        clock.addAndGet(TARGET);
+        limiter.tryAcquire(false);
+        limiter.release(SLOW);
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should never cut the limit below the minimum")
+    void shouldRespectMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8);
+
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(TARGET);
+            limiter.tryAcquire(false);
+            limiter.release(SLOW);
+        }
+
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+}
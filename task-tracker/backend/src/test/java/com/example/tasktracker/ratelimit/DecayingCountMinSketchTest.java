@@ -0,0 +1,77 @@
+package com.example.tasktracker.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DecayingCountMinSketch tests")
+class DecayingCountMinSketchTest {
+
+    private static final long WINDOW_MILLIS = 60_000;
+
+    private final AtomicLong clock = new AtomicLong(10 * WINDOW_MILLIS);
+    private DecayingCountMinSketch sketch;
+
+    @BeforeEach
+    void setUp() {
+        sketch = new DecayingCountMinSketch(4, 1 << 16, WINDOW_MILLIS, 12345L, clock::get);
+    }
+
+    @Test
+    @DisplayName("Should count exactly when there are no collisions")
+    void shouldCountOccurrences() {
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("user:alice");
+        }
+
+        assertEquals(5.0, sketch.estimate("user:alice"));
+        assertEquals(0.0, sketch.estimate("user:bob"));
+    }
+
+    @Test
+    @DisplayName("Should decay the previous window's count linearly")
+    void shouldDecayPreviousWindow() {
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("ip:10.0.0.1");
+        }
+
+        clock.addAndGet(WINDOW_MILLIS / 4);
+        assertEquals(10.0, sketch.estimate("ip:10.0.0.1"));
+
+        // A quarter into the next window, three quarters of the old count remain
+        clock.addAndGet(WINDOW_MILLIS);
+        assertEquals(7.5, sketch.estimate("ip:10.0.0.1"), 0.001);
+
+        clock.addAndGet(WINDOW_MILLIS);
+        assertEquals(0.0, sketch.estimate("ip:10.0.0.1"));
+    }
+
+    @Test
+    @DisplayName("Should forget everything after an idle gap of several windows")
+    void shouldResetAfterIdleGap() {
+        sketch.increment("user:alice");
+
+        clock.addAndGet(5 * WINDOW_MILLIS);
+
+        assertEquals(0.0, sketch.estimate("user:alice"));
+    }
+
+    @Test
+    @DisplayName("Should keep overcounting small with many distinct keys")
+    void shouldStayAccurateUnderManyDistinctKeys() {
+        for (int i = 0; i < 200_000; i++) {
+            sketch.increment("user:noise-" + i);
+        }
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("user:target");
+        }
+
+        double estimate = sketch.estimate("user:target");
+        assertTrue(estimate >= 20, "count-min never undercounts");
+        assertTrue(estimate <= 25, "estimate " + estimate);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.tasktracker.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StripedTokenBucket tests")
+class StripedTokenBucketTest {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final AtomicLong clock = new AtomicLong(-TimeUnit.HOURS.toNanos(1));
+
+    @Test
+    @DisplayName("Should allow a full burst, then refill at the configured rate")
+    void shouldAllowBurstThenRefill() {
+        StripedTokenBucket bucket = new StripedTokenBucket(1024, 10, 5, clock::get, SEED);
+        long key = 1;
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryAcquire(key), "burst request " + i);
+        }
+        long wait = bucket.tryAcquire(key);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+
+        clock.addAndGet(wait);
+        assertEquals(0, bucket.tryAcquire(key));
+        assertTrue(bucket.tryAcquire(key) > 0);
+    }
+
+    @Test
+    @DisplayName("Should keep separate budgets for different keys")
+    void shouldIsolateKeys() {
+        StripedTokenBucket bucket = new StripedTokenBucket(1024, 1, 1, clock::get, SEED);
+
+        assertEquals(0, bucket.tryAcquire(1));
+        assertTrue(bucket.tryAcquire(1) > 0);
+        assertEquals(0, bucket.tryAcquire(2));
+    }
+
+    @Test
+    @DisplayName("Should not make keys a slot count apart share a budget")
+    void shouldNotShareSlotsBetweenKeysSlotCountApart() {
+        StripedTokenBucket bucket = new StripedTokenBucket(1024, 1, 1, clock::get, SEED);
+
+        int shared = 0;
+        for (long key = 1; key <= 100; key++) {
+            // Every bucket is full again, so only the pair itself can collide
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+            assertEquals(0, bucket.tryAcquire(key));
+            if (bucket.tryAcquire(key + 1024) > 0) {
+                shared++;
+            }
+        }
+        // Taken by their low bits every pair would collide; hashed, about one in ten runs has one
+        assertTrue(shared <= 1, shared + " of 100 pairs shared a slot");
+    }
+
+    @Test
+    @DisplayName("Should not bank more than one burst while idle")
+    void shouldCapTokensAtBurst() {
+        StripedTokenBucket bucket = new StripedTokenBucket(1024, 10, 3, clock::get, SEED);
+        long key = 1;
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.tryAcquire(key));
+        }
+        assertTrue(bucket.tryAcquire(key) > 0);
+    }
+
+    @Test
+    @DisplayName("Should not allocate on the check path")
+    void shouldNotAllocate() {
+        StripedTokenBucket bucket = new StripedTokenBucket(1024, 1_000_000, 1_000, System::nanoTime, SEED);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long[] keys = {1, 2, 3};
+
+        // Warm up so the loop is compiled before measuring
+        for (int i = 0; i < 200_000; i++) {
+            bucket.tryAcquire(keys[i % keys.length]);
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 200_000; i++) {
+            bucket.tryAcquire(keys[i % keys.length]);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // A single boxed value per call would already be megabytes
+        assertTrue(allocated < 64 * 1024, "allocated " + allocated + " bytes");
+    }
+}
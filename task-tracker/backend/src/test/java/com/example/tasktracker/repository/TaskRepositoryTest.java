@@ -0,0 +1,81 @@
+package com.example.tasktracker.repository;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.entity.Tag;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.User;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskRepository read path tests")
+class TaskRepositoryTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUpTestData() {
+        user = userRepository.save(new User("repouser", "{noop}password", "repouser@gmail.com"));
+        Tag tag = tagRepository.save(new Tag("Work", user));
+        for (int i = 0; i < 5; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Long description " + i);
+            task.setUser(user);
+            if (i % 2 == 0) {
+                task.addTag(tag);
+            }
+            taskRepository.save(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should not load descriptions for entity list queries")
+    void shouldNotLoadDescriptionForListQueries() {
+        List<Task> tasks = taskRepository.findByUser(user);
+
+        assertEquals(5, tasks.size());
+        Task first = tasks.get(0);
+        assertFalse(Hibernate.isPropertyInitialized(first, "description"));
+        assertTrue(first.getDescription().startsWith("Long description"));
+        assertTrue(Hibernate.isPropertyInitialized(first, "description"));
+    }
+
+    @Test
+    @DisplayName("Should load a sorted page of responses with their tags")
+    void shouldLoadSortedPageOfResponses() {
+        Page<TaskResponse> page = taskRepository.findResponsePageByUser(user.getId(),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "title")));
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of("Task 4", "Task 3"), page.getContent().stream().map(TaskResponse::getTitle).toList());
+        assertEquals("Long description 4", page.getContent().get(0).getDescription());
+        assertEquals("Work", page.getContent().get(0).getTags().get(0).getName());
+        assertTrue(page.getContent().get(1).getTags().isEmpty());
+    }
+}
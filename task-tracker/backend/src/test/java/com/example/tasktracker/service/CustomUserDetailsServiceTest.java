@@ -0,0 +1,103 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.cache.CacheNames;
+import com.example.tasktracker.cache.InvalidationEntity;
+import com.example.tasktracker.cache.InvalidationMessage;
+import com.example.tasktracker.cache.InvalidationTransport;
+import com.example.tasktracker.config.TestConfig;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("CustomUserDetailsService cache tests")
+class CustomUserDetailsServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private InvalidationTransport invalidationTransport;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUpTestData() {
+        cacheManager.getCache(CacheNames.USER_DETAILS).clear();
+        testUser = userRepository.save(new User("detailsuser", "{noop}first", "detailsuser@gmail.com"));
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache until evicted")
+    void shouldServeRepeatedLookupsFromCache() {
+        assertEquals("{noop}first", userDetailsService.loadUserByUsername("detailsuser").getPassword());
+
+        // Changed behind the service's back: the cached entry still wins
+        testUser.setPassword("{noop}second");
+        userRepository.saveAndFlush(testUser);
+        assertEquals("{noop}first", userDetailsService.loadUserByUsername("detailsuser").getPassword());
+
+        userDetailsService.evictUser(testUser);
+        assertEquals("{noop}second", userDetailsService.loadUserByUsername("detailsuser").getPassword());
+    }
+
+    @Test
+    @DisplayName("Should lock out a user as soon as an admin disables them")
+    void shouldLockOutDisabledUserImmediately() throws Exception {
+        assertTrue(userDetailsService.loadUserByUsername("detailsuser").isEnabled());
+
+        mockMvc.perform(put("/api/admin/users/{id}/enable", testUser.getId())
+                .with(TestConfig.mockAdmin()))
+                .andExpect(status().isOk());
+
+        assertFalse(userDetailsService.loadUserByUsername("detailsuser").isEnabled());
+    }
+
+    @Test
+    @DisplayName("Should evict only that user's details when another node changes them")
+    void shouldEvictOnRemoteUserInvalidation() {
+        userRepository.save(new User("bystander", "{noop}other", "bystander@gmail.com"));
+        userDetailsService.loadUserByUsername("detailsuser");
+        userDetailsService.loadUserByUsername("bystander");
+        assertNotNull(cacheManager.getCache(CacheNames.USER_DETAILS).get("detailsuser"));
+
+        invalidationTransport.publish(
+                new InvalidationMessage(testUser.getId(), InvalidationEntity.USER, null, "other-node").encode());
+
+        assertNull(cacheManager.getCache(CacheNames.USER_DETAILS).get("detailsuser"));
+        assertNotNull(cacheManager.getCache(CacheNames.USER_DETAILS).get("bystander"));
+    }
+
+    @Test
+    @DisplayName("Should report unknown users as not found and cache nothing for them")
+    void shouldNotCacheUnknownUsers() {
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("nobody"));
+        assertNull(cacheManager.getCache(CacheNames.USER_DETAILS).get("nobody"));
+    }
+
+    @Test
+    @DisplayName("Should not let credential erasure leak into the cache")
+    void shouldHandOutCopies() {
+        UserDetails first = userDetailsService.loadUserByUsername("detailsuser");
+        ((CredentialsContainer) first).eraseCredentials();
+
+        assertEquals("{noop}first", userDetailsService.loadUserByUsername("detailsuser").getPassword());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.config.TestConfig;
+import com.example.tasktracker.entity.CompressedText;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Task description compression tests")
+class DescriptionCompressionMigrationTest extends BaseIntegrationTest {
+
+    private static final String LOG = "2024-05-01 12:00:00 WARN  Slow query on tasks table\n".repeat(80);
+
+    @Autowired
+    private DescriptionCompressionMigration migration;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUpTestData() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User("mihailaexuser", "{noop}password", "compress@gmail.com"));
+    }
+
+    @Test
+    @DisplayName("Should store long descriptions compressed when written through JPA")
+    void shouldCompressOnWrite() {
+        Task task = saveTask("Logs", LOG);
+
+        assertTrue(CompressedText.isCompressed(rawDescription(task.getId())));
+        entityManager.clear();
+        assertEquals(LOG, taskRepository.findById(task.getId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    @DisplayName("Should compress existing plain rows once")
+    void shouldMigrateExistingRows() {
+        Task task = saveTask("Logs", "short");
+        Task small = saveTask("Small", "still short");
+        jdbcTemplate.update("update tasks set description = ? where id = ?", LOG, task.getId());
+
+        assertEquals(1, migration.migrate());
+        assertEquals(0, migration.migrate());
+
+        assertTrue(CompressedText.isCompressed(rawDescription(task.getId())));
+        assertEquals("still short", rawDescription(small.getId()));
+        entityManager.clear();
+        assertEquals(LOG, taskRepository.findById(task.getId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    @DisplayName("Should still find words inside compressed descriptions")
+    void shouldSearchCompressedDescriptions() throws Exception {
+        saveTask("Logs", LOG);
+        saveTask("Other", "Unrelated " + "text ".repeat(400));
+
+        mockMvc.perform(get("/api/tasks/search")
+                .param("q", "slow query")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Logs")))
+                .andExpect(jsonPath("$[0].description", is(LOG)));
+
+        mockMvc.perform(get("/api/tasks/search")
+                .param("q", "slow query")
+                .param("fields", "title")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should decode compressed descriptions when streaming")
+    void shouldDecodeWhenStreaming() throws Exception {
+        saveTask("Logs", LOG);
+
+        mockMvc.perform(get("/api/tasks/stream")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].description", is(LOG)));
+    }
+
+    private Task saveTask(String title, String description) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setUser(user);
+        return taskRepository.saveAndFlush(task);
+    }
+
+    private String rawDescription(Long taskId) {
+        return jdbcTemplate.queryForObject("select description from tasks where id = ?", String.class, taskId);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.tasktracker.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures hash and verify throughput per cost factor on the current machine,
+ * to pick {@code app.security.password.bcrypt-strength} from data. Not part of
+ * the regular build; run with:
+ * <pre>mvn test -Dtest=PasswordEncoderBenchmarkTest -Dbenchmark=true</pre>
+ */
+@DisplayName("Password encoder throughput benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PasswordEncoderBenchmarkTest {
+
+    private static final String PASSWORD = "pRH8F8cu@FYhRqG";
+    private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    @Test
+    @DisplayName("Should report throughput for each BCrypt cost and PBKDF2")
+    void reportThroughput() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%-14s %12s %12s %12s%n", "encoder", "encode/s", "verify/s", "verify ms");
+        for (int strength = 8; strength <= 14; strength++) {
+            report("bcrypt-" + strength, new BCryptPasswordEncoder(strength));
+        }
+        report("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        System.out.printf("Per-core figures; multiply by up to %d cores for the pool's ceiling%n", threads);
+    }
+
+    private void report(String name, PasswordEncoder encoder) {
+        String hash = encoder.encode(PASSWORD);
+        // Warm up
+        encoder.matches(PASSWORD, hash);
+
+        double encodeRate = measure(() -> encoder.encode(PASSWORD));
+        double verifyRate = measure(() -> encoder.matches(PASSWORD, hash));
+        System.out.printf("%-14s %12.1f %12.1f %12.1f%n", name, encodeRate, verifyRate, 1000.0 / verifyRate);
+    }
+
+    private static double measure(Runnable op) {
+        long start = System.nanoTime();
+        long operations = 0;
+        long elapsed;
+        do {
+            op.run();
+            operations++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return operations * 1e9 / elapsed;
+    }
+}
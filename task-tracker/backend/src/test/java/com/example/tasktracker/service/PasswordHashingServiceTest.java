@@ -0,0 +1,88 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHashingService backpressure tests")
+class PasswordHashingServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingService hashingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hashingService = new PasswordHashingService(meterRegistry, 1, 1, Duration.ofSeconds(5), Duration.ofSeconds(3));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run the job off the calling thread and record its latency")
+    void shouldRunJobOnPoolAndRecordLatency() {
+        String threadName = hashingService.execute(PasswordHashingService.OP_ENCODE, () -> Thread.currentThread().getName());
+
+        assertTrue(threadName.startsWith("password-hash-"));
+        assertEquals(1, meterRegistry.get("auth.password.hashing.duration").tag("op", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.hashing.queue.wait").tag("op", "encode").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should rethrow the job's own exception unchanged")
+    void shouldPropagateJobException() {
+        assertThrows(BadCredentialsException.class, () -> hashingService.execute(PasswordHashingService.OP_VERIFY, () -> {
+            throw new BadCredentialsException("bad");
+        }));
+    }
+
+    @Test
+    @DisplayName("Should shed load once the queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Occupies the only thread
+        CompletableFuture<Void> busy = CompletableFuture.runAsync(() -> hashingService.execute(PasswordHashingService.OP_VERIFY, () -> {
+            running.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // Takes the only queue slot
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(
+                () -> hashingService.execute(PasswordHashingService.OP_VERIFY, () -> true));
+        waitForQueuedJob();
+
+        ServiceOverloadedException rejected = assertThrows(ServiceOverloadedException.class,
+                () -> hashingService.execute(PasswordHashingService.OP_VERIFY, () -> true));
+        assertEquals(3, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.password.hashing.rejected").tag("reason", "queue_full").counter().count());
+
+        release.countDown();
+        busy.get(5, TimeUnit.SECONDS);
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    private void waitForQueuedJob() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.hashing.queue.size").gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "job was never queued");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.dto.LoginRequest;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The rehash runs on the hashing pool with its own transaction, so the test
+ * data has to be committed rather than held in the test transaction.
+ */
+@DisplayName("PasswordUpgradeService tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PasswordUpgradeServiceTest extends BaseIntegrationTest {
+
+    private static final String PASSWORD = "pRH8F8cu@FYhRqG";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User user;
+
+    @AfterEach
+    void cleanUp() {
+        if (user != null) {
+            userRepository.deleteById(user.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Should rehash a legacy unprefixed BCrypt hash after login")
+    void shouldUpgradeLegacyHashAfterLogin() throws Exception {
+        String legacyHash = new BCryptPasswordEncoder(4).encode(PASSWORD);
+        user = userRepository.save(new User("upgradeuser", legacyHash, "upgradeuser@gmail.com"));
+
+        login("upgradeuser", PASSWORD);
+
+        String upgradedHash = awaitHashChange(legacyHash);
+        assertTrue(upgradedHash.startsWith("{bcrypt}"), upgradedHash);
+        assertFalse(passwordEncoder.upgradeEncoding(upgradedHash));
+
+        // The cached user details were evicted, so the new hash is used straight away
+        login("upgradeuser", PASSWORD);
+    }
+
+    @Test
+    @DisplayName("Should leave a current hash untouched")
+    void shouldNotTouchCurrentHash() throws Exception {
+        String currentHash = passwordEncoder.encode(PASSWORD);
+        user = userRepository.save(new User("currentuser", currentHash, "currentuser@gmail.com"));
+
+        login("currentuser", PASSWORD);
+
+        assertEquals(currentHash, userRepository.findById(user.getId()).orElseThrow().getPassword());
+    }
+
+    @Test
+    @DisplayName("Should not overwrite a password changed after the hash was read")
+    void shouldSkipStaleUpgrade() {
+        user = userRepository.save(new User("staleuser", passwordEncoder.encode(PASSWORD), "staleuser@gmail.com"));
+
+        int updated = userRepository.updatePasswordIfUnchanged(user.getId(), "{bcrypt}outdated", "{bcrypt}new");
+
+        assertEquals(0, updated);
+        assertNotEquals("{bcrypt}new", userRepository.findById(user.getId()).orElseThrow().getPassword());
+    }
+
+    private void login(String username, String password) throws Exception {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(username);
+        loginRequest.setPassword(password);
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(JSON)
+                .content(toJson(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)));
+    }
+
+    private String awaitHashChange(String oldHash) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            String hash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+            if (!hash.equals(oldHash)) {
+                return hash;
+            }
+            Thread.sleep(20);
+        }
+        return fail("password hash was not upgraded");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.dto.ProfileResponse;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.entity.Tag;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.TagRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls the services the way a controller does with open-session-in-view
+ * off: outside any transaction, so every lazy access has to happen inside
+ * the service's own transaction.
+ */
+@DisplayName("Service read transaction tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadTransactionTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+    private Task task;
+
+    @BeforeEach
+    void setUpTestData() {
+        user = userRepository.save(new User("readtxuser", "{noop}password", "readtxuser@gmail.com"));
+        task = transactionTemplate.execute(status -> {
+            Task created = new Task();
+            created.setTitle("Read me");
+            created.setDescription("Loaded with the task");
+            created.setUser(user);
+            created.addTag(tagRepository.save(new Tag("Work", user)));
+            created.addTag(tagRepository.save(new Tag("Home", user)));
+            return taskRepository.save(created);
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll(taskRepository.findByUser(user));
+        tagRepository.deleteAll(tagRepository.findByUserOrderByNameAsc(user));
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Should not register the open-session-in-view interceptor")
+    void shouldNotOpenSessionInView() {
+        assertTrue(webApplicationContext.getBeansOfType(OpenEntityManagerInViewInterceptor.class).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return a task with tags and description from one task query")
+    void shouldLoadTaskInOneQuery() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        userRepository.findById(user.getId());
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+
+        TaskResponse response = taskService.getTaskById(task.getId(), user.getId());
+
+        assertEquals("Loaded with the task", response.getDescription());
+        assertEquals(2, response.getTags().size());
+        // The user lookup is a cache hit; the task, its description and tags come in one select
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("Should serve other read paths without a caller transaction")
+    void shouldReadWithoutCallerTransaction() {
+        assertEquals(2, taskService.getAllTasks(user.getId()).get(0).getTags().size());
+        assertEquals(1, taskService.getStatusCounts(user.getId()).values().stream().mapToLong(Long::longValue).sum());
+        ProfileResponse profile = profileService.getProfile(user.getId());
+        assertEquals("readtxuser", profile.getUsername());
+    }
+}
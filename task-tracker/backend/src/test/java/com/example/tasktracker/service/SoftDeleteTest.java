@@ -0,0 +1,260 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.config.TestConfig;
+import com.example.tasktracker.dto.TagRequest;
+import com.example.tasktracker.entity.Tag;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.TaskStatus;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.TagRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Soft delete tests")
+class SoftDeleteTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TombstonePurger tombstonePurger;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Tag tag;
+    private Task task;
+
+    @BeforeEach
+    void setUpTestData() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User("mihailaexuser", "{noop}password", "softdelete@gmail.com"));
+        tag = tagRepository.save(new Tag("Errands", user));
+
+        task = new Task();
+        task.setTitle("Buy milk");
+        task.setStatus(TaskStatus.TODO);
+        task.setUser(user);
+        task.addTag(tag);
+        task = taskRepository.saveAndFlush(task);
+    }
+
+    @Nested
+    @DisplayName("Tasks")
+    class Tasks {
+
+        @Test
+        @DisplayName("Should hide a deleted task everywhere but keep its row and links")
+        void shouldHideDeletedTask() throws Exception {
+            mockMvc.perform(delete("/api/tasks/{id}", task.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isNoContent());
+            entityManager.flush();
+            entityManager.clear();
+
+            mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isNotFound());
+            mockMvc.perform(get("/api/tasks")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(jsonPath("$", hasSize(0)));
+            mockMvc.perform(get("/api/tasks/search")
+                    .param("q", "milk")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(jsonPath("$", hasSize(0)));
+            mockMvc.perform(get("/api/tasks/stream")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(jsonPath("$", hasSize(0)));
+            assertEquals(0L, taskService.getStatusCounts(user.getId()).get(TaskStatus.TODO));
+
+            assertEquals(1, count("select count(*) from tasks where user_id = ? and deleted_at is not null"));
+            assertEquals(1, count("select count(*) from task_tags where user_id = ?"));
+        }
+
+        @Test
+        @DisplayName("Should restore a task with its tags within the undo window")
+        void shouldRestoreWithinUndoWindow() throws Exception {
+            taskService.deleteTask(task.getId(), user.getId());
+            entityManager.flush();
+
+            mockMvc.perform(post("/api/tasks/{id}/restore", task.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title", is("Buy milk")))
+                    .andExpect(jsonPath("$.tags[0].name", is("Errands")));
+
+            mockMvc.perform(get("/api/tasks")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(jsonPath("$", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("Should refuse to restore a task after the undo window or one never deleted")
+        void shouldNotRestoreAfterUndoWindow() throws Exception {
+            mockMvc.perform(post("/api/tasks/{id}/restore", task.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isNotFound());
+
+            taskService.deleteTask(task.getId(), user.getId());
+            entityManager.flush();
+            markDeletedAgo("tasks", task.getId(), 60 * 24);
+
+            mockMvc.perform(post("/api/tasks/{id}/restore", task.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("Should list tombstones for sync clients")
+        void shouldListTombstones() throws Exception {
+            LocalDateTime before = LocalDateTime.now().minusMinutes(1);
+            taskService.deleteTask(task.getId(), user.getId());
+            entityManager.flush();
+
+            mockMvc.perform(get("/api/tasks/deleted")
+                    .param("since", before.toString())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].id", is(task.getId().intValue())))
+                    .andExpect(jsonPath("$[0].deletedAt", notNullValue()));
+
+            mockMvc.perform(get("/api/tasks/deleted")
+                    .param("since", LocalDateTime.now().plusMinutes(1).toString())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(jsonPath("$", hasSize(0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Tags")
+    class Tags {
+
+        @Test
+        @DisplayName("Should hide a deleted tag from tag lists and tasks, and restore it")
+        void shouldHideAndRestoreDeletedTag() throws Exception {
+            // Warm the second-level cache, which still holds the tag after deletion
+            tagService.getTag(tag.getId(), user.getId());
+
+            mockMvc.perform(delete("/api/tags/{id}", tag.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isNoContent());
+            entityManager.flush();
+            entityManager.clear();
+
+            mockMvc.perform(get("/api/tags")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(jsonPath("$", hasSize(0)));
+            mockMvc.perform(get("/api/tags/{id}", tag.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(jsonPath("$.tags", hasSize(0)));
+            mockMvc.perform(get("/api/tasks")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(jsonPath("$[0].tags", hasSize(0)));
+
+            mockMvc.perform(post("/api/tags/{id}/restore", tag.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name", is("Errands")));
+            entityManager.clear();
+
+            mockMvc.perform(get("/api/tasks/{id}", task.getId())
+                    .with(TestConfig.mockUser()))
+                    .andExpect(jsonPath("$.tags[0].name", is("Errands")));
+        }
+
+        @Test
+        @DisplayName("Should let a new tag take the name of a deleted one")
+        void shouldReuseDeletedTagName() {
+            tagService.deleteTag(tag.getId(), user.getId());
+            entityManager.flush();
+
+            TagRequest request = new TagRequest();
+            request.setName("Errands");
+            Long newId = tagService.createTag(request, user.getId()).getId();
+
+            assertNotEquals(tag.getId(), newId);
+            assertEquals(0, count("select count(*) from task_tags where user_id = ?"));
+            assertEquals(1, count("select count(*) from tags where user_id = ?"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Purger")
+    class Purger {
+
+        @Test
+        @DisplayName("Should purge tombstones past the retention period with their links")
+        void shouldPurgeOldTombstones() {
+            for (int i = 0; i < 4; i++) {
+                Task extra = new Task();
+                extra.setTitle("Old " + i);
+                extra.setUser(user);
+                extra.addTag(tag);
+                extra = taskRepository.saveAndFlush(extra);
+                taskService.deleteTask(extra.getId(), user.getId());
+            }
+            Tag doomed = tagRepository.save(new Tag("Doomed", user));
+            tagService.deleteTag(doomed.getId(), user.getId());
+            taskService.deleteTask(task.getId(), user.getId());
+            entityManager.flush();
+            jdbcTemplate.update("update tasks set deleted_at = ? where title like 'Old %'",
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(2)));
+            markDeletedAgo("tags", doomed.getId(), 60 * 48);
+
+            // Four tasks in batches of two, then the tag; the fresh tombstone stays
+            assertEquals(5, tombstonePurger.purge());
+            assertEquals(0, tombstonePurger.purge());
+
+            assertEquals(1, count("select count(*) from tasks where user_id = ?"));
+            assertEquals(1, count("select count(*) from task_tags where user_id = ?"));
+            assertEquals(1, count("select count(*) from tags where user_id = ?"));
+        }
+    }
+
+    private void markDeletedAgo(String table, Long id, int minutes) {
+        jdbcTemplate.update("update " + table + " set deleted_at = ? where id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(minutes)), id);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, user.getId());
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.config.TestConfig;
+import com.example.tasktracker.entity.Tag;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.TaskStatus;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.TagRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Task archival tests")
+class TaskArchiverTest extends BaseIntegrationTest {
+
+    private static final String LOG = "2023-01-01 00:00:00 INFO  Quarterly report sent\n".repeat(80);
+
+    @Autowired
+    private TaskArchiver taskArchiver;
+
+    @Autowired
+    private TombstonePurger tombstonePurger;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Tag tag;
+    private Task oldDone;
+
+    @BeforeEach
+    void setUpTestData() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User("mihailaexuser", "{noop}password", "archive@gmail.com"));
+        tag = tagRepository.save(new Tag("Reports", user));
+
+        oldDone = saveTask("Old report", LOG, TaskStatus.DONE, 400);
+        saveTask("Recent report", "done last week", TaskStatus.DONE, 7);
+        saveTask("Old idea", "never started", TaskStatus.TODO, 400);
+    }
+
+    @Test
+    @DisplayName("Should move only old DONE tasks and their tag links into the archive")
+    void shouldArchiveOldDoneTasks() {
+        // Batches of 2 in tests, so several are needed
+        for (int i = 0; i < 4; i++) {
+            saveTask("Old chore " + i, null, TaskStatus.DONE, 500);
+        }
+
+        assertEquals(5, taskArchiver.archive());
+        assertEquals(0, taskArchiver.archive());
+        entityManager.clear();
+
+        assertFalse(taskRepository.existsById(oldDone.getId()));
+        assertEquals(2, taskRepository.count());
+        assertEquals(5, count("select count(*) from tasks_archive where user_id = ?"));
+        assertEquals(5, count("select count(*) from task_tags_archive where user_id = ?"));
+        assertEquals(2, count("select count(*) from task_tags where user_id = ?"));
+    }
+
+    @Test
+    @DisplayName("Should list archived tasks only when asked to")
+    void shouldListArchivedTasksOnRequest() throws Exception {
+        taskArchiver.archive();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/tasks")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].title", not(hasItem("Old report"))));
+
+        mockMvc.perform(get("/api/tasks")
+                .param("includeArchived", "true")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].title", is("Old report")))
+                .andExpect(jsonPath("$[0].description", is(LOG)))
+                .andExpect(jsonPath("$[0].tags[0].name", is("Reports")));
+
+        mockMvc.perform(get("/api/tasks")
+                .param("includeArchived", "true")
+                .param("fields", "id,title")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should search archived tasks, including compressed descriptions, when asked to")
+    void shouldSearchArchivedTasksOnRequest() throws Exception {
+        taskArchiver.archive();
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/tasks/search")
+                .param("q", "quarterly")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/api/tasks/search")
+                .param("q", "quarterly")
+                .param("includeArchived", "true")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Old report")));
+
+        mockMvc.perform(get("/api/tasks/search")
+                .param("q", "report")
+                .param("shape", "normalized")
+                .param("includeArchived", "true")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks", hasSize(2)))
+                .andExpect(jsonPath("$.tags.*.name", contains("Reports")));
+    }
+
+    @Test
+    @DisplayName("Should hide a deleted tag on archived tasks and drop it when purged")
+    void shouldDropDeletedTagFromArchive() throws Exception {
+        taskArchiver.archive();
+        entityManager.clear();
+
+        mockMvc.perform(delete("/api/tags/{id}", tag.getId())
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isNoContent());
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/tasks")
+                .param("includeArchived", "true")
+                .with(TestConfig.mockUser()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title", is("Old report")))
+                .andExpect(jsonPath("$[0].tags", hasSize(0)));
+
+        jdbcTemplate.update("update tags set deleted_at = ? where id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(30)), tag.getId());
+        tombstonePurger.purge();
+
+        assertEquals(0, count("select count(*) from task_tags_archive where user_id = ?"));
+        assertEquals(1, count("select count(*) from tasks_archive where user_id = ?"));
+    }
+
+    private Task saveTask(String title, String description, TaskStatus status, int daysAgo) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(status);
+        task.setUser(user);
+        task.addTag(tag);
+        task = taskRepository.saveAndFlush(task);
+        jdbcTemplate.update("update tasks set updated_at = ? where id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(daysAgo)), task.getId());
+        return task;
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, user.getId());
+    }
+}
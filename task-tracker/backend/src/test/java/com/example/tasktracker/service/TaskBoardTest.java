@@ -0,0 +1,209 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.config.TestConfig;
+import com.example.tasktracker.dto.TaskMoveRequest;
+import com.example.tasktracker.dto.TaskRequest;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.entity.TaskStatus;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Task board ordering tests")
+class TaskBoardTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRankRebalancer taskRankRebalancer;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Long first;
+    private Long second;
+    private Long third;
+
+    @BeforeEach
+    void setUpTestData() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        user = userRepository.save(new User("mihailaexuser", "{noop}password", "board@gmail.com"));
+        first = create("First", TaskStatus.TODO);
+        second = create("Second", TaskStatus.TODO);
+        third = create("Third", TaskStatus.TODO);
+        entityManager.clear();
+    }
+
+    @Nested
+    @DisplayName("Board")
+    class Board {
+
+        @Test
+        @DisplayName("Should append new tasks to the end of their column and list them as cards")
+        void shouldAppendNewTasks() throws Exception {
+            create("Shipped", TaskStatus.DONE);
+
+            mockMvc.perform(get("/api/tasks/board")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.TODO[*].title", contains("First", "Second", "Third")))
+                    .andExpect(jsonPath("$.IN_PROGRESS", hasSize(0)))
+                    .andExpect(jsonPath("$.DONE[*].title", contains("Shipped")))
+                    .andExpect(jsonPath("$.TODO[0].description", nullValue()));
+        }
+
+        @Test
+        @DisplayName("Should move a task to the end of its new column when its status changes")
+        void shouldAppendOnStatusChange() {
+            Long done = create("Shipped", TaskStatus.DONE);
+
+            TaskRequest request = new TaskRequest();
+            request.setTitle("First");
+            request.setStatus(TaskStatus.DONE);
+            taskService.updateTask(first, request, user.getId());
+
+            assertEquals(List.of(done, first), column(TaskStatus.DONE));
+            assertEquals(List.of(second, third), column(TaskStatus.TODO));
+        }
+    }
+
+    @Nested
+    @DisplayName("Moves")
+    class Moves {
+
+        @Test
+        @DisplayName("Should move a task by writing only its own row")
+        void shouldMoveWithOneWrite() throws Exception {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            mockMvc.perform(put("/api/tasks/{id}/position", third)
+                    .contentType(JSON)
+                    .content(toJson(new TaskMoveRequest(TaskStatus.TODO, null, first)))
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title", is("Third")));
+
+            assertEquals(1, statistics.getEntityUpdateCount());
+            assertEquals(0, statistics.getEntityInsertCount() + statistics.getEntityDeleteCount()
+                    + statistics.getCollectionUpdateCount() + statistics.getCollectionRecreateCount());
+            assertEquals(List.of(third, first, second), column(TaskStatus.TODO));
+        }
+
+        @Test
+        @DisplayName("Should place a task after, between or into another column")
+        void shouldPlaceTask() {
+            move(first, TaskStatus.TODO, second, null);
+            assertEquals(List.of(second, first, third), column(TaskStatus.TODO));
+
+            move(third, TaskStatus.TODO, second, first);
+            assertEquals(List.of(second, third, first), column(TaskStatus.TODO));
+
+            move(second, TaskStatus.IN_PROGRESS, null, null);
+            move(first, TaskStatus.IN_PROGRESS, null, second);
+            assertEquals(List.of(first, second), column(TaskStatus.IN_PROGRESS));
+            assertEquals(List.of(third), column(TaskStatus.TODO));
+        }
+
+        @Test
+        @DisplayName("Should reject neighbours that are not other tasks in the target column")
+        void shouldRejectInvalidNeighbours() throws Exception {
+            for (TaskMoveRequest request : List.of(
+                    new TaskMoveRequest(TaskStatus.DONE, first, null),
+                    new TaskMoveRequest(TaskStatus.TODO, third, null),
+                    new TaskMoveRequest(TaskStatus.TODO, second, first),
+                    new TaskMoveRequest(TaskStatus.TODO, 999_999L, null))) {
+                mockMvc.perform(put("/api/tasks/{id}/position", third)
+                        .contentType(JSON)
+                        .content(toJson(request))
+                        .with(TestConfig.mockUser()))
+                        .andExpect(status().isBadRequest());
+            }
+            mockMvc.perform(put("/api/tasks/{id}/position", third)
+                    .contentType(JSON)
+                    .content("{}")
+                    .with(TestConfig.mockUser()))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("Rebalancer")
+    class Rebalancer {
+
+        @Test
+        @DisplayName("Should shorten long ranks and keep the column order")
+        void shouldRebalanceLongRanks() {
+            // Keep moving the last task in front of the one before it: the gap keeps halving
+            for (int i = 0; i < 30; i++) {
+                List<Long> order = column(TaskStatus.TODO);
+                move(order.get(2), TaskStatus.TODO, order.get(0), order.get(1));
+            }
+            List<Long> order = column(TaskStatus.TODO);
+            assertTrue(maxRankLength() > 4);
+
+            assertEquals(1, taskRankRebalancer.rebalance());
+            assertEquals(0, taskRankRebalancer.rebalance());
+
+            assertEquals(order, column(TaskStatus.TODO));
+            assertTrue(maxRankLength() <= 2);
+        }
+    }
+
+    private Long create(String title, TaskStatus status) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        request.setDescription("Details of " + title);
+        request.setStatus(status);
+        return taskService.createTask(request, user.getId()).getId();
+    }
+
+    private void move(Long taskId, TaskStatus status, Long afterTaskId, Long beforeTaskId) {
+        taskService.moveTask(taskId, new TaskMoveRequest(status, afterTaskId, beforeTaskId), user.getId());
+        entityManager.clear();
+    }
+
+    private List<Long> column(TaskStatus status) {
+        return taskService.getBoard(user.getId()).get(status).stream().map(TaskResponse::getId).toList();
+    }
+
+    private int maxRankLength() {
+        return jdbcTemplate.queryForObject("select max(length(rank)) from tasks where user_id = ?",
+                Integer.class, user.getId());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.entity.Tag;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.TagRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk-creates tasks with two tags each, one transaction per chunk, and
+ * reports throughput and JDBC statements per task. Not part of the regular
+ * build; run with:
+ * <pre>mvn test -Dtest=TaskInsertBenchmarkTest -Dbenchmark=true</pre>
+ */
+@DisplayName("Bulk task insert benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.tasktracker=WARN"
+})
+class TaskInsertBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int TASKS = 10_000;
+    private static final int CHUNK = 500;
+    private static final int WARMUP_TASKS = 2_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User user;
+    private final List<Long> tagIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUpTestData() {
+        user = userRepository.save(new User("insertbench", "{noop}password", "insertbench@gmail.com"));
+        for (int i = 0; i < 5; i++) {
+            tagIds.add(tagRepository.save(new Tag("Tag " + i, user)).getId());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from task_tags where task_id in (select id from tasks where user_id = ?)", user.getId());
+        jdbcTemplate.update("delete from tasks where user_id = ?", user.getId());
+        tagRepository.deleteAll(tagRepository.findByUserOrderByNameAsc(user));
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Should report bulk insert throughput")
+    void measureBulkInsert() {
+        insert(WARMUP_TASKS);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        long start = System.nanoTime();
+        insert(TASKS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("inserted %d tasks: %.0f tasks/s, %.2f JDBC statements per task%n",
+                TASKS, TASKS / seconds, (double) statistics.getPrepareStatementCount() / TASKS);
+        assertEquals(WARMUP_TASKS + TASKS, taskRepository.findByUser(user).size());
+    }
+
+    private void insert(int count) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int done = 0; done < count; done += CHUNK) {
+            int offset = done;
+            transaction.executeWithoutResult(status -> {
+                User owner = entityManager.getReference(User.class, user.getId());
+                for (int i = offset; i < offset + CHUNK; i++) {
+                    Task task = new Task();
+                    task.setTitle("Task " + i);
+                    task.setDescription("Description of task " + i);
+                    task.setUser(owner);
+                    task.addTag(entityManager.getReference(Tag.class, tagIds.get(i % tagIds.size())));
+                    task.addTag(entityManager.getReference(Tag.class, tagIds.get((i + 1) % tagIds.size())));
+                    entityManager.persist(task);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.tasktracker.service;
+
+import com.example.tasktracker.base.BaseIntegrationTest;
+import com.example.tasktracker.dto.TagResponse;
+import com.example.tasktracker.dto.TaskResponse;
+import com.example.tasktracker.entity.Tag;
+import com.example.tasktracker.entity.Task;
+import com.example.tasktracker.entity.TaskStatus;
+import com.example.tasktracker.entity.User;
+import com.example.tasktracker.repository.TagRepository;
+import com.example.tasktracker.repository.TaskRepository;
+import com.example.tasktracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares time and heap allocation of listing 1k tasks through managed
+ * entities against the projection read path. Not part of the regular build;
+ * run with:
+ * <pre>mvn test -Dtest=TaskReadPathBenchmarkTest -Dbenchmark=true</pre>
+ */
+@DisplayName("Task list read path benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        // SQL and bind logging would dominate both paths
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "logging.level.com.example.tasktracker=WARN"
+})
+class TaskReadPathBenchmarkTest extends BaseIntegrationTest {
+
+    private static final int TASKS = 1000;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private User user;
+
+    @BeforeEach
+    void setUpTestData() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        user = userRepository.save(new User("benchuser", "{noop}password", "benchuser@gmail.com"));
+        List<Tag> tags = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tags.add(tagRepository.save(new Tag("Tag " + i, user)));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < TASKS; i++) {
+                Task task = new Task();
+                task.setTitle("Task " + i);
+                task.setDescription("Description of task " + i + " ".repeat(200));
+                task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+                task.setUser(userRepository.getReferenceById(user.getId()));
+                task.addTag(tagRepository.getReferenceById(tags.get(i % tags.size()).getId()));
+                task.addTag(tagRepository.getReferenceById(tags.get((i + 1) % tags.size()).getId()));
+                tasks.add(task);
+            }
+            taskRepository.saveAll(tasks);
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        taskRepository.deleteAll(taskRepository.findByUser(user));
+        tagRepository.deleteAll(tagRepository.findByUserOrderByNameAsc(user));
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("Should list 1k tasks with less allocation through projections")
+    void compareReadPaths() {
+        Supplier<List<TaskResponse>> entityPath = () -> readOnly.execute(status ->
+                taskRepository.findByUser(userRepository.findById(user.getId()).orElseThrow()).stream()
+                        .map(TaskReadPathBenchmarkTest::convertToResponse)
+                        .collect(Collectors.toList()));
+        Supplier<List<TaskResponse>> projectionPath = () -> taskService.getAllTasks(user.getId());
+
+        assertEquals(TASKS, entityPath.get().size());
+        assertEquals(TASKS, projectionPath.get().size());
+
+        Result entities = measure(entityPath);
+        Result projections = measure(projectionPath);
+
+        System.out.printf("%-12s %10s %14s%n", "path", "ms/op", "KB alloc/op");
+        System.out.printf("%-12s %10.2f %14.1f%n", "entities", entities.millisPerOp, entities.bytesPerOp / 1024);
+        System.out.printf("%-12s %10.2f %14.1f%n", "projections", projections.millisPerOp, projections.bytesPerOp / 1024);
+
+        assertTrue(projections.bytesPerOp < entities.bytesPerOp,
+                "projection path allocated " + projections.bytesPerOp + " vs " + entities.bytesPerOp);
+    }
+
+    private static Result measure(Supplier<List<TaskResponse>> path) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < WARMUP; i++) {
+            path.get();
+        }
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(elapsed / 1e6 / ITERATIONS, (double) allocated / ITERATIONS);
+    }
+
+    /**
+     * The field-by-field copy the entity path used before projections
+     */
+    private static TaskResponse convertToResponse(Task task) {
+        TaskResponse response = new TaskResponse(task.getId(), task.getTitle(), task.getDescription(),
+                task.getStatus(), task.getCreatedAt(), task.getUpdatedAt());
+        response.setTags(task.getTags().stream()
+                .map(tag -> new TagResponse(tag.getId(), tag.getName(), tag.getColor(),
+                        tag.getCreatedAt(), tag.getUpdatedAt()))
+                .collect(Collectors.toList()));
+        return response;
+    }
+
+    private record Result(double millisPerOp, double bytesPerOp) {
+    }
+}
@@ -0,0 +1,13 @@
+import { Profile } from './profile.model';
+import { Tag } from './tag.model';
+import { Task, TaskStatus } from './task.model';
+
+export interface Bootstrap {
+  username: string;
+  role: string;
+  profile: Profile;
+  tags: Tag[];
+  tasks: Task[];
+  totalTasks: number;
+  statusCounts: Record<TaskStatus, number>;
+}
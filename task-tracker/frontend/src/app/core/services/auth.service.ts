@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable, BehaviorSubject, of } from 'rxjs';
-import { tap, catchError } from 'rxjs/operators';
+import { tap, catchError, map, switchMap } from 'rxjs/operators';
+import { BootstrapService } from './bootstrap.service';
 
 export interface AuthResponse {
   success: boolean;
@@ -24,7 +25,7 @@ export class AuthService {
   public username$ = this.usernameSubject.asObservable();
   public role$ = this.roleSubject.asObservable();
 
-  constructor(private http: HttpClient) {
+  constructor(private http: HttpClient, private bootstrapService: BootstrapService) {
     // Check initial authentication status
     this.checkAuthStatus();
   }
@@ -35,6 +36,10 @@ export class AuthService {
 
   login(credentials: { username: string, password: string }): Observable<AuthResponse> {
     return this.http.post<AuthResponse>(`${this.apiUrl}/login`, credentials).pipe(
+      // Fetch the initial data before announcing the login, so components find it ready
+      switchMap(response => response.success
+        ? this.bootstrapService.load().pipe(map(() => response), catchError(() => of(response)))
+        : of(response)),
       tap(response => {
         if (response.success) {
           this.isAuthenticatedSubject.next(true);
@@ -46,6 +51,7 @@ export class AuthService {
   }
 
   logout(): Observable<AuthResponse> {
+    this.bootstrapService.clear();
     return this.http.post<AuthResponse>(`${this.apiUrl}/logout`, {}).pipe(
       tap(() => {
         this.isAuthenticatedSubject.next(false);
@@ -86,13 +92,12 @@ export class AuthService {
   }
 
   private checkAuthStatus(): void {
-    this.getCurrentUser().subscribe({
-      next: (response) => {
-        if (response.success) {
-          this.isAuthenticatedSubject.next(true);
-          this.usernameSubject.next(response.username);
-          this.roleSubject.next(response.role || 'USER');
-        }
+    // One request both checks the session and preloads profile, tags and tasks
+    this.bootstrapService.load().subscribe({
+      next: (data) => {
+        this.isAuthenticatedSubject.next(true);
+        this.usernameSubject.next(data.username);
+        this.roleSubject.next(data.role || 'USER');
       },
       error: () => {
         this.isAuthenticatedSubject.next(false);
@@ -0,0 +1,49 @@
+import { Injectable } from '@angular/core';
+import { HttpClient } from '@angular/common/http';
+import { Observable } from 'rxjs';
+import { tap } from 'rxjs/operators';
+import { Bootstrap } from '../models/bootstrap.model';
+
+type BootstrapSection = 'profile' | 'tags' | 'tasks';
+
+@Injectable({
+  providedIn: 'root'
+})
+export class BootstrapService {
+  private apiUrl = '/api/bootstrap';
+  // Sections of the initial payload that no component has used yet
+  private pending: Partial<Pick<Bootstrap, BootstrapSection>> | null = null;
+
+  constructor(private http: HttpClient) { }
+
+  /**
+   * Load the initial payload in one request
+   */
+  load(): Observable<Bootstrap> {
+    return this.http.get<Bootstrap>(this.apiUrl).pipe(
+      tap(data => {
+        this.pending = { profile: data.profile, tags: data.tags };
+        // Only a complete task list can stand in for GET /api/tasks
+        if (data.tasks.length === data.totalTasks) {
+          this.pending.tasks = data.tasks;
+        }
+      })
+    );
+  }
+
+  /**
+   * Hand out a section of the initial payload once; later loads go to the API
+   */
+  take<K extends BootstrapSection>(section: K): Bootstrap[K] | null {
+    const value = this.pending?.[section];
+    if (value === undefined) {
+      return null;
+    }
+    delete this.pending![section];
+    return value as Bootstrap[K];
+  }
+
+  clear(): void {
+    this.pending = null;
+  }
+}
@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { Observable, of } from 'rxjs';
 import { Profile } from '../models/profile.model';
+import { BootstrapService } from './bootstrap.service';
 
 @Injectable({
   providedIn: 'root'
@@ -9,9 +10,13 @@ import { Profile } from '../models/profile.model';
 export class ProfileService {
   private apiUrl = '/api/profile';
 
-  constructor(private http: HttpClient) { }
+  constructor(private http: HttpClient, private bootstrapService: BootstrapService) { }
 
   getProfile(): Observable<Profile> {
+    const preloaded = this.bootstrapService.take('profile');
+    if (preloaded) {
+      return of(preloaded);
+    }
     return this.http.get<Profile>(this.apiUrl);
   }
 
@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { Observable, of } from 'rxjs';
 import { Tag, TagRequest } from '../models/tag.model';
+import { BootstrapService } from './bootstrap.service';
 
 @Injectable({
   providedIn: 'root'
@@ -9,7 +10,7 @@ import { Tag, TagRequest } from '../models/tag.model';
 export class TagService {
   private apiUrl = '/api/tags';
 
-  constructor(private http: HttpClient) { }
+  constructor(private http: HttpClient, private bootstrapService: BootstrapService) { }
 
   /**
    * Get all tags for the current user
@@ -18,6 +19,10 @@ export class TagService {
     if (userId) {
       return this.http.get<Tag[]>(`${this.apiUrl}/user/${userId}`);
     }
+    const preloaded = this.bootstrapService.take('tags');
+    if (preloaded) {
+      return of(preloaded);
+    }
     return this.http.get<Tag[]>(this.apiUrl);
   }
 
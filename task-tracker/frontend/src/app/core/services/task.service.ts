@@ -1,7 +1,8 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { Observable } from 'rxjs';
+import { Observable, of } from 'rxjs';
 import { Task, TaskRequest } from '../models/task.model';
+import { BootstrapService } from './bootstrap.service';
 
 @Injectable({
   providedIn: 'root'
@@ -9,11 +10,15 @@ import { Task, TaskRequest } from '../models/task.model';
 export class TaskService {
   private apiUrl = '/api/tasks';
 
-  constructor(private http: HttpClient) { }
+  constructor(private http: HttpClient, private bootstrapService: BootstrapService) { }
 
   getTasks(userId?: number): Observable<Task[]> {
     if (userId) {
-      return this.http.get<Task[]>(`${this.apiUrl}/user/${userId}`);
+      return this.http.get<Task[]>(`${this.apiUrl}/user/${userId}/stream`);
+    }
+    const preloaded = this.bootstrapService.take('tasks');
+    if (preloaded) {
+      return of(preloaded);
     }
     return this.http.get<Task[]>(this.apiUrl);
   }